@@ -0,0 +1,335 @@
+/*
+ * Licensed to STRATIO (C) under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  The STRATIO (C) licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.datastax.driver.core;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.datastax.driver.core.policies.RetryPolicy;
+import com.google.common.util.concurrent.AbstractFuture;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+
+/**
+ * Synthetic driver result sets, rows and prepared statements for the benchmarks, so that the conversion of results
+ * and the binding of values can be measured without a Cassandra cluster. It lives in the driver package because the
+ * constructors of {@link com.datastax.driver.core.ColumnDefinitions}, of the driver rows and of the prepared
+ * statement identifiers are package-private.
+ */
+public final class SyntheticResults {
+
+    /**
+     * Private class constructor as all methods are static.
+     */
+    private SyntheticResults() {
+    }
+
+    /**
+     * Create the column definitions of a table.
+     *
+     * @param keyspace The keyspace name.
+     * @param table    The table name.
+     * @param columns  The name and type of the columns in order.
+     * @return The {@link com.datastax.driver.core.ColumnDefinitions}.
+     */
+    public static ColumnDefinitions definitions(String keyspace, String table, Map<String, DataType> columns) {
+        ColumnDefinitions.Definition[] definitions = new ColumnDefinitions.Definition[columns.size()];
+        int i = 0;
+        for (Map.Entry<String, DataType> column : columns.entrySet()) {
+            definitions[i++] = new ColumnDefinitions.Definition(keyspace, table, column.getKey(), column.getValue());
+        }
+        return new ColumnDefinitions(definitions);
+    }
+
+    /**
+     * Create a row serializing the values as the driver receives them.
+     *
+     * @param definitions The columns of the row.
+     * @param values      The values of the columns in order.
+     * @return The {@link com.datastax.driver.core.Row}.
+     */
+    public static Row row(ColumnDefinitions definitions, Object... values) {
+        List<ByteBuffer> data = new ArrayList<>(values.length);
+        for (int i = 0; i < values.length; i++) {
+            data.add(values[i] == null ? null : definitions.getType(i).serialize(values[i], ProtocolVersion.V3));
+        }
+        return ArrayBackedRow.fromData(definitions, null, ProtocolVersion.V3, data);
+    }
+
+    /**
+     * Create a fully fetched result set. Each call returns a new result set over the same rows.
+     *
+     * @param definitions The columns of the rows.
+     * @param rows        The rows.
+     * @return The {@link com.datastax.driver.core.ResultSet}.
+     */
+    public static ResultSet resultSet(ColumnDefinitions definitions, List<Row> rows) {
+        return new SyntheticResultSet(definitions, rows);
+    }
+
+    /**
+     * Create a future already completed with a result set.
+     *
+     * @param resultSet The result set.
+     * @return The {@link com.datastax.driver.core.ResultSetFuture}.
+     */
+    public static ResultSetFuture completed(ResultSet resultSet) {
+        CompletedFuture future = new CompletedFuture();
+        future.set(resultSet);
+        return future;
+    }
+
+    /**
+     * Create a prepared statement as if it had been prepared by a cluster.
+     *
+     * @param query     The CQL with bind markers.
+     * @param variables The bind variables in order.
+     * @return The {@link com.datastax.driver.core.PreparedStatement}.
+     */
+    public static PreparedStatement prepared(String query, ColumnDefinitions variables) {
+        return new SyntheticPreparedStatement(query, variables);
+    }
+
+    /**
+     * Prepared statement that has not been sent to any cluster.
+     */
+    private static final class SyntheticPreparedStatement implements PreparedStatement {
+        private final String query;
+        private final PreparedId preparedId;
+        private volatile ByteBuffer routingKey;
+        private volatile ConsistencyLevel consistency;
+        private volatile ConsistencyLevel serialConsistency;
+        private volatile boolean tracing;
+        private volatile RetryPolicy retryPolicy;
+
+        private SyntheticPreparedStatement(String query, ColumnDefinitions variables) {
+            this.query = query;
+            this.preparedId = new PreparedId(MD5Digest.wrap(query.getBytes(StandardCharsets.UTF_8)), variables,
+                    new ColumnDefinitions(new ColumnDefinitions.Definition[0]), null, ProtocolVersion.V3);
+        }
+
+        @Override
+        public ColumnDefinitions getVariables() {
+            return preparedId.metadata;
+        }
+
+        @Override
+        public BoundStatement bind(Object... values) {
+            return new BoundStatement(this).bind(values);
+        }
+
+        @Override
+        public BoundStatement bind() {
+            return new BoundStatement(this);
+        }
+
+        @Override
+        public PreparedStatement setRoutingKey(ByteBuffer routingKey) {
+            this.routingKey = routingKey;
+            return this;
+        }
+
+        @Override
+        public PreparedStatement setRoutingKey(ByteBuffer... routingKeyComponents) {
+            throw new UnsupportedOperationException("Composite routing keys are not supported");
+        }
+
+        @Override
+        public ByteBuffer getRoutingKey() {
+            return routingKey;
+        }
+
+        @Override
+        public PreparedStatement setConsistencyLevel(ConsistencyLevel consistency) {
+            this.consistency = consistency;
+            return this;
+        }
+
+        @Override
+        public ConsistencyLevel getConsistencyLevel() {
+            return consistency;
+        }
+
+        @Override
+        public PreparedStatement setSerialConsistencyLevel(ConsistencyLevel serialConsistency) {
+            this.serialConsistency = serialConsistency;
+            return this;
+        }
+
+        @Override
+        public ConsistencyLevel getSerialConsistencyLevel() {
+            return serialConsistency;
+        }
+
+        @Override
+        public String getQueryString() {
+            return query;
+        }
+
+        @Override
+        public String getQueryKeyspace() {
+            return null;
+        }
+
+        @Override
+        public PreparedStatement enableTracing() {
+            this.tracing = true;
+            return this;
+        }
+
+        @Override
+        public PreparedStatement disableTracing() {
+            this.tracing = false;
+            return this;
+        }
+
+        @Override
+        public boolean isTracing() {
+            return tracing;
+        }
+
+        @Override
+        public PreparedStatement setRetryPolicy(RetryPolicy retryPolicy) {
+            this.retryPolicy = retryPolicy;
+            return this;
+        }
+
+        @Override
+        public RetryPolicy getRetryPolicy() {
+            return retryPolicy;
+        }
+
+        @Override
+        public PreparedId getPreparedId() {
+            return preparedId;
+        }
+    }
+
+    /**
+     * Result set over a list of rows.
+     */
+    private static final class SyntheticResultSet implements ResultSet {
+        private final ColumnDefinitions definitions;
+        private final List<Row> rows;
+        private int next = 0;
+
+        private SyntheticResultSet(ColumnDefinitions definitions, List<Row> rows) {
+            this.definitions = definitions;
+            this.rows = rows;
+        }
+
+        @Override
+        public ColumnDefinitions getColumnDefinitions() {
+            return definitions;
+        }
+
+        @Override
+        public boolean isExhausted() {
+            return next >= rows.size();
+        }
+
+        @Override
+        public Row one() {
+            return isExhausted() ? null : rows.get(next++);
+        }
+
+        @Override
+        public List<Row> all() {
+            List<Row> result = new ArrayList<>(rows.subList(next, rows.size()));
+            next = rows.size();
+            return result;
+        }
+
+        @Override
+        public Iterator<Row> iterator() {
+            return new Iterator<Row>() {
+                @Override
+                public boolean hasNext() {
+                    return !isExhausted();
+                }
+
+                @Override
+                public Row next() {
+                    return one();
+                }
+
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public int getAvailableWithoutFetching() {
+            return rows.size() - next;
+        }
+
+        @Override
+        public boolean isFullyFetched() {
+            return true;
+        }
+
+        @Override
+        public ListenableFuture<Void> fetchMoreResults() {
+            return Futures.immediateFuture(null);
+        }
+
+        @Override
+        public ExecutionInfo getExecutionInfo() {
+            return null;
+        }
+
+        @Override
+        public List<ExecutionInfo> getAllExecutionInfo() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public boolean wasApplied() {
+            return true;
+        }
+    }
+
+    /**
+     * Future completed on creation.
+     */
+    private static final class CompletedFuture extends AbstractFuture<ResultSet> implements ResultSetFuture {
+
+        @Override
+        protected boolean set(ResultSet value) {
+            return super.set(value);
+        }
+
+        @Override
+        public ResultSet getUninterruptibly() {
+            return Futures.getUnchecked(this);
+        }
+
+        @Override
+        public ResultSet getUninterruptibly(long timeout, TimeUnit unit) {
+            return Futures.getUnchecked(this);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Licensed to STRATIO (C) under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  The STRATIO (C) licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.stratio.connector.cassandra.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
+
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.SyntheticResults;
+import com.stratio.crossdata.common.data.Cell;
+import com.stratio.crossdata.common.data.ClusterName;
+import com.stratio.crossdata.common.data.ColumnName;
+import com.stratio.crossdata.common.data.IndexName;
+import com.stratio.crossdata.common.data.TableName;
+import com.stratio.crossdata.common.logicalplan.Limit;
+import com.stratio.crossdata.common.logicalplan.LogicalStep;
+import com.stratio.crossdata.common.logicalplan.LogicalWorkflow;
+import com.stratio.crossdata.common.logicalplan.Project;
+import com.stratio.crossdata.common.logicalplan.Select;
+import com.stratio.crossdata.common.metadata.ColumnMetadata;
+import com.stratio.crossdata.common.metadata.ColumnType;
+import com.stratio.crossdata.common.metadata.DataType;
+import com.stratio.crossdata.common.metadata.IndexMetadata;
+import com.stratio.crossdata.common.metadata.Operations;
+import com.stratio.crossdata.common.metadata.TableMetadata;
+import com.stratio.crossdata.common.statements.structures.ColumnSelector;
+import com.stratio.crossdata.common.statements.structures.Selector;
+
+/**
+ * Data shared by the benchmarks: the users table of the integration tests, with its Crossdata metadata, its
+ * Crossdata rows and synthetic driver rows.
+ */
+public final class Fixtures {
+
+    public static final String CLUSTER = "cluster";
+    public static final String KEYSPACE = "cassandra_connector_demo";
+    public static final String TABLE = "users";
+
+    private static final String[] COLUMNS = { "name", "gender", "age", "bool", "phrase", "email" };
+    private static final DataType[] TYPES = { DataType.TEXT, DataType.TEXT, DataType.INT, DataType.BOOLEAN,
+            DataType.TEXT, DataType.TEXT };
+
+    /**
+     * Private class constructor as all methods are static.
+     */
+    private Fixtures() {
+    }
+
+    /**
+     * Get the Crossdata metadata of the users table, whose partition key is the name.
+     *
+     * @return The {@link com.stratio.crossdata.common.metadata.TableMetadata}.
+     */
+    public static TableMetadata usersTable() {
+        TableName tableName = new TableName(KEYSPACE, TABLE);
+        LinkedHashMap<ColumnName, ColumnMetadata> columns = new LinkedHashMap<>();
+        for (int i = 0; i < COLUMNS.length; i++) {
+            ColumnName columnName = new ColumnName(tableName, COLUMNS[i]);
+            columns.put(columnName, new ColumnMetadata(columnName, new Object[] { }, new ColumnType(TYPES[i])));
+        }
+        LinkedList<ColumnName> partitionKey = new LinkedList<>();
+        partitionKey.add(new ColumnName(tableName, "name"));
+        return new TableMetadata(tableName, new HashMap<Selector, Selector>(), columns,
+                new HashMap<IndexName, IndexMetadata>(), new ClusterName(CLUSTER), partitionKey,
+                new LinkedList<ColumnName>());
+    }
+
+    /**
+     * Get a Crossdata row of the users table.
+     *
+     * @param i The number of the user.
+     * @return The {@link com.stratio.crossdata.common.data.Row}.
+     */
+    public static com.stratio.crossdata.common.data.Row usersRow(int i) {
+        com.stratio.crossdata.common.data.Row row = new com.stratio.crossdata.common.data.Row();
+        row.addCell("name", new Cell("name_" + i));
+        row.addCell("gender", new Cell(i % 2 == 0 ? "male" : "female"));
+        row.addCell("age", new Cell(20 + i % 50));
+        row.addCell("bool", new Cell(i % 3 == 0));
+        row.addCell("phrase", new Cell("phrase of the user " + i));
+        row.addCell("email", new Cell("name_" + i + "@domain.com"));
+        return row;
+    }
+
+    /**
+     * Get the driver columns of a select over the users table, including the hidden column of the Lucene index.
+     *
+     * @return The {@link com.datastax.driver.core.ColumnDefinitions}.
+     */
+    public static ColumnDefinitions usersDefinitions() {
+        Map<String, com.datastax.driver.core.DataType> columns = new LinkedHashMap<>();
+        columns.put("name", com.datastax.driver.core.DataType.text());
+        columns.put("gender", com.datastax.driver.core.DataType.text());
+        columns.put("age", com.datastax.driver.core.DataType.cint());
+        columns.put("bool", com.datastax.driver.core.DataType.cboolean());
+        columns.put("phrase", com.datastax.driver.core.DataType.text());
+        columns.put("email", com.datastax.driver.core.DataType.text());
+        columns.put("stratio_lucene_index_1", com.datastax.driver.core.DataType.text());
+        return SyntheticResults.definitions(KEYSPACE, TABLE, columns);
+    }
+
+    /**
+     * Get synthetic driver rows of the users table.
+     *
+     * @param definitions The columns of the rows.
+     * @param count       The number of rows.
+     * @return The list of {@link com.datastax.driver.core.Row}.
+     */
+    public static List<Row> usersDriverRows(ColumnDefinitions definitions, int count) {
+        List<Row> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(SyntheticResults.row(definitions, "name_" + i, i % 2 == 0 ? "male" : "female", 20 + i % 50,
+                    i % 3 == 0, "phrase of the user " + i, "name_" + i + "@domain.com", null));
+        }
+        return rows;
+    }
+
+    /**
+     * Get the alias of a select of the name, age and email of the users.
+     *
+     * @return The map of selectors and alias.
+     */
+    public static Map<Selector, String> usersAlias() {
+        Map<Selector, String> alias = new LinkedHashMap<>();
+        alias.put(new ColumnSelector(new ColumnName(KEYSPACE, TABLE, "name")), "user");
+        alias.put(new ColumnSelector(new ColumnName(KEYSPACE, TABLE, "age")), "age");
+        alias.put(new ColumnSelector(new ColumnName(KEYSPACE, TABLE, "email")), "mail");
+        return alias;
+    }
+
+    /**
+     * Get the workflow of a select of the name, age and email of the users with a limit.
+     *
+     * @return The {@link com.stratio.crossdata.common.logicalplan.LogicalWorkflow}.
+     */
+    public static LogicalWorkflow usersWorkflow() {
+        TableName tableName = new TableName(KEYSPACE, TABLE);
+        Set<Operations> operations = new HashSet<>();
+        operations.add(Operations.PROJECT);
+        operations.add(Operations.SELECT_OPERATOR);
+        operations.add(Operations.SELECT_LIMIT);
+
+        List<ColumnName> columns = new ArrayList<>();
+        Map<String, ColumnType> typeMap = new HashMap<>();
+        Map<Selector, ColumnType> typeMapFromColumnName = new HashMap<>();
+        for (Selector selector : usersAlias().keySet()) {
+            columns.add(selector.getColumnName());
+            typeMap.put(selector.getColumnName().getQualifiedName(), new ColumnType(DataType.TEXT));
+            typeMapFromColumnName.put(selector, new ColumnType(DataType.TEXT));
+        }
+        Project project = new Project(operations, tableName, new ClusterName(CLUSTER), columns);
+        Select select = new Select(operations, usersAlias(), typeMap, typeMapFromColumnName);
+        Limit limit = new Limit(operations, 500);
+        project.setNextStep(select);
+        select.setNextStep(limit);
+
+        List<LogicalStep> steps = new ArrayList<>();
+        steps.add(project);
+        return new LogicalWorkflow(steps);
+    }
+
+    /**
+     * Get the connector properties of the cluster.
+     *
+     * @return The properties by cluster name.
+     */
+    public static Map<String, List<Pair<String, String>>> clusterProperties() {
+        List<Pair<String, String>> properties = new ArrayList<>();
+        properties.add(new ImmutablePair<>("DefaultLimit", "100"));
+        Map<String, List<Pair<String, String>>> clusterProperties = new HashMap<>();
+        clusterProperties.put(CLUSTER, properties);
+        return clusterProperties;
+    }
+
+    /**
+     * Get the sessions by cluster name.
+     *
+     * @param session The session of the cluster.
+     * @return The sessions by cluster name.
+     */
+    public static Map<String, Session> sessions(Session session) {
+        Map<String, Session> sessions = new HashMap<>();
+        sessions.put(CLUSTER, session);
+        return sessions;
+    }
+}
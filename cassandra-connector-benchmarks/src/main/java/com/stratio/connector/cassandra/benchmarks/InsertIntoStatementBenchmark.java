@@ -0,0 +1,76 @@
+/*
+ * Licensed to STRATIO (C) under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  The STRATIO (C) licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.stratio.connector.cassandra.benchmarks;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.stratio.connector.cassandra.statements.InsertIntoStatement;
+import com.stratio.connector.cassandra.utils.ColumnInsertCassandra;
+import com.stratio.crossdata.common.data.ColumnName;
+import com.stratio.crossdata.common.data.Row;
+import com.stratio.crossdata.common.metadata.TableMetadata;
+
+/**
+ * Generation of the CQL of a single row insert.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class InsertIntoStatementBenchmark {
+
+    private TableMetadata table;
+    private Map<String, ColumnInsertCassandra> columns;
+
+    @Setup
+    public void setUp() {
+        table = Fixtures.usersTable();
+        Row row = Fixtures.usersRow(1);
+        columns = new LinkedHashMap<>();
+        for (String name : row.getCells().keySet()) {
+            ColumnName columnName = new ColumnName(table.getName(), name);
+            columns.put(name, new ColumnInsertCassandra(table.getColumns().get(columnName).getColumnType(),
+                    row.getCell(name).toString(), name));
+        }
+    }
+
+    @Benchmark
+    public String insertToString() {
+        return new InsertIntoStatement(table, columns, false).toString();
+    }
+
+    @Benchmark
+    public String insertIfNotExistsToString() {
+        return new InsertIntoStatement(table, columns, true).toString();
+    }
+}
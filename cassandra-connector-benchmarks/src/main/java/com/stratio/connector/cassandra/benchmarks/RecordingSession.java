@@ -0,0 +1,187 @@
+/*
+ * Licensed to STRATIO (C) under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  The STRATIO (C) licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.stratio.connector.cassandra.benchmarks;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.datastax.driver.core.CloseFuture;
+import com.datastax.driver.core.Cluster;
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.RegularStatement;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.SyntheticResults;
+import com.google.common.util.concurrent.ListenableFuture;
+
+/**
+ * {@link com.datastax.driver.core.Session} that does not connect to any cluster: it counts the statements it
+ * receives and answers them with an empty result, so that the cost of building the statements can be measured.
+ * INSERT statements are prepared with the types of the columns of the session.
+ */
+public class RecordingSession implements Session {
+
+    private final Map<String, DataType> columns = new HashMap<>();
+    private Cluster cluster;
+    private long statements = 0;
+
+    /**
+     * Create a session that cannot prepare statements.
+     */
+    public RecordingSession() {
+        this(SyntheticResults.definitions("ks", "table", new LinkedHashMap<String, DataType>()));
+    }
+
+    /**
+     * Create a session that prepares the INSERT statements of some columns.
+     *
+     * @param columns The columns that can be inserted.
+     */
+    public RecordingSession(ColumnDefinitions columns) {
+        for (ColumnDefinitions.Definition column : columns) {
+            this.columns.put(column.getName(), column.getType());
+        }
+    }
+
+    /**
+     * Get the number of statements executed.
+     *
+     * @return The number of statements.
+     */
+    public long getStatements() {
+        return statements;
+    }
+
+    private ResultSet record() {
+        statements++;
+        return SyntheticResults.resultSet(
+                SyntheticResults.definitions("ks", "table", new LinkedHashMap<String, DataType>()),
+                Collections.<Row>emptyList());
+    }
+
+    @Override
+    public String getLoggedKeyspace() {
+        return null;
+    }
+
+    @Override
+    public Session init() {
+        return this;
+    }
+
+    @Override
+    public ResultSet execute(String query) {
+        return record();
+    }
+
+    @Override
+    public ResultSet execute(String query, Object... values) {
+        return record();
+    }
+
+    @Override
+    public ResultSet execute(Statement statement) {
+        return record();
+    }
+
+    @Override
+    public ResultSetFuture executeAsync(String query) {
+        return SyntheticResults.completed(record());
+    }
+
+    @Override
+    public ResultSetFuture executeAsync(String query, Object... values) {
+        return SyntheticResults.completed(record());
+    }
+
+    @Override
+    public ResultSetFuture executeAsync(Statement statement) {
+        return SyntheticResults.completed(record());
+    }
+
+    @Override
+    public PreparedStatement prepare(String query) {
+        if (!query.startsWith("INSERT INTO ")) {
+            throw new UnsupportedOperationException("Only INSERT statements can be prepared without a cluster");
+        }
+        Map<String, DataType> variables = new LinkedHashMap<>();
+        String names = query.substring(query.indexOf('(') + 1, query.indexOf(')'));
+        for (String name : names.split(",")) {
+            String column = name.trim().replace("\"", "");
+            if (!columns.containsKey(column)) {
+                throw new UnsupportedOperationException("Unknown column " + column);
+            }
+            variables.put(column, columns.get(column));
+        }
+        return SyntheticResults.prepared(query, SyntheticResults.definitions("ks", "table", variables));
+    }
+
+    @Override
+    public PreparedStatement prepare(RegularStatement statement) {
+        throw new UnsupportedOperationException("Statements cannot be prepared without a cluster");
+    }
+
+    @Override
+    public ListenableFuture<PreparedStatement> prepareAsync(String query) {
+        throw new UnsupportedOperationException("Statements cannot be prepared without a cluster");
+    }
+
+    @Override
+    public ListenableFuture<PreparedStatement> prepareAsync(RegularStatement statement) {
+        throw new UnsupportedOperationException("Statements cannot be prepared without a cluster");
+    }
+
+    @Override
+    public CloseFuture closeAsync() {
+        return null;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public boolean isClosed() {
+        return false;
+    }
+
+    /**
+     * Get a cluster that is never initialized, so that listeners can be registered on it.
+     *
+     * @return The {@link com.datastax.driver.core.Cluster}.
+     */
+    @Override
+    public synchronized Cluster getCluster() {
+        if (cluster == null) {
+            cluster = Cluster.builder().addContactPoint("127.0.0.1").build();
+        }
+        return cluster;
+    }
+
+    @Override
+    public State getState() {
+        return null;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Licensed to STRATIO (C) under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  The STRATIO (C) licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.stratio.connector.cassandra.benchmarks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.SyntheticResults;
+import com.stratio.connector.cassandra.utils.Utils;
+import com.stratio.crossdata.common.data.ResultSet;
+import com.stratio.crossdata.common.statements.structures.Selector;
+
+/**
+ * Conversion of driver results into Crossdata results with synthetic rows of the users table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ResultConversionBenchmark {
+
+    @Param({ "100", "10000" })
+    public int rows;
+
+    private Utils utils;
+    private ColumnDefinitions definitions;
+    private List<Row> driverRows;
+    private Map<Selector, String> alias;
+
+    @Setup
+    public void setUp() {
+        utils = new Utils();
+        definitions = Fixtures.usersDefinitions();
+        driverRows = Fixtures.usersDriverRows(definitions, rows);
+        alias = Fixtures.usersAlias();
+    }
+
+    @Benchmark
+    public ResultSet transformToMetaResultSet() {
+        return utils.transformToMetaResultSet(SyntheticResults.resultSet(definitions, driverRows), alias);
+    }
+
+    @Benchmark
+    public ResultSet transformPagingToMetaResultSet() {
+        return utils.transformPagingToMetaResultSet(definitions.asList(), driverRows, alias);
+    }
+}
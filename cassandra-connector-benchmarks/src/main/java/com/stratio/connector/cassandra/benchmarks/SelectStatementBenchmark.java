@@ -0,0 +1,73 @@
+/*
+ * Licensed to STRATIO (C) under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  The STRATIO (C) licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.stratio.connector.cassandra.benchmarks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.datastax.driver.core.Session;
+import com.stratio.connector.cassandra.statements.SelectStatement;
+import com.stratio.crossdata.common.logicalplan.LogicalWorkflow;
+
+/**
+ * Translation of a Crossdata workflow into CQL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class SelectStatementBenchmark {
+
+    private LogicalWorkflow workflow;
+    private Map<String, Session> sessions;
+    private Map<String, List<Pair<String, String>>> clusterProperties;
+    private SelectStatement statement;
+
+    @Setup
+    public void setUp() {
+        workflow = Fixtures.usersWorkflow();
+        sessions = Fixtures.sessions(new RecordingSession());
+        clusterProperties = Fixtures.clusterProperties();
+        statement = new SelectStatement(workflow, 100, sessions, clusterProperties);
+    }
+
+    @Benchmark
+    public String parseQuery() {
+        return statement.parseQuery();
+    }
+
+    @Benchmark
+    public String buildAndParseQuery() {
+        return new SelectStatement(workflow, 100, sessions, clusterProperties).parseQuery();
+    }
+}
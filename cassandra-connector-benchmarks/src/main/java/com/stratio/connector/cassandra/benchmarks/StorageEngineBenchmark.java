@@ -0,0 +1,78 @@
+/*
+ * Licensed to STRATIO (C) under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  The STRATIO (C) licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.stratio.connector.cassandra.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.stratio.connector.cassandra.engine.CassandraStorageEngine;
+import com.stratio.crossdata.common.data.ClusterName;
+import com.stratio.crossdata.common.data.Row;
+import com.stratio.crossdata.common.exceptions.ConnectorException;
+import com.stratio.crossdata.common.metadata.TableMetadata;
+
+/**
+ * Building of the statements of a multi-row insert. The statements are sent to a
+ * {@link com.stratio.connector.cassandra.benchmarks.RecordingSession}, so no time is spent in the network.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class StorageEngineBenchmark {
+
+    @Param({ "100", "10000" })
+    public int rows;
+
+    private CassandraStorageEngine storageEngine;
+    private ClusterName cluster;
+    private TableMetadata table;
+    private List<Row> crossdataRows;
+
+    @Setup
+    public void setUp() {
+        RecordingSession session = new RecordingSession(Fixtures.usersDefinitions());
+        storageEngine = new CassandraStorageEngine(Fixtures.sessions(session));
+        cluster = new ClusterName(Fixtures.CLUSTER);
+        table = Fixtures.usersTable();
+        crossdataRows = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            crossdataRows.add(Fixtures.usersRow(i));
+        }
+    }
+
+    @Benchmark
+    public void insertRows() throws ConnectorException {
+        storageEngine.insert(cluster, table, crossdataRows, false);
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Licensed to STRATIO (C) under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  The STRATIO (C) licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.stratio.connector.cassandra.bulkload;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.stratio.crossdata.common.connector.IStorageEngine;
+import com.stratio.crossdata.common.data.ClusterName;
+import com.stratio.crossdata.common.data.Row;
+import com.stratio.crossdata.common.data.TableName;
+import com.stratio.crossdata.common.exceptions.ConnectorException;
+import com.stratio.crossdata.common.exceptions.UnsupportedException;
+import com.stratio.crossdata.common.logicalplan.Filter;
+import com.stratio.crossdata.common.metadata.TableMetadata;
+import com.stratio.crossdata.common.statements.structures.Relation;
+
+/**
+ * Storage engine for the initial load of tables: the inserted rows are written into SSTables in a local directory
+ * instead of being sent to the cluster, one {@code <keyspace>/<table>} directory per table. Once the engine is
+ * closed the directories are ready to be streamed with {@code sstableloader}. Only inserts without the IF NOT EXISTS
+ * clause are supported. It is a library API to be used directly by loader programs, the connector itself does not
+ * provide it to Crossdata.
+ */
+public class SSTableBulkStorageEngine implements IStorageEngine, Closeable {
+
+    private final File baseDirectory;
+    private final int bufferSizeMB;
+    private final Map<TableName, SSTableBulkWriter> writers = new LinkedHashMap<>();
+
+    /**
+     * Class constructor.
+     *
+     * @param baseDirectory The directory where the SSTables of each table are written.
+     */
+    public SSTableBulkStorageEngine(File baseDirectory) {
+        this(baseDirectory, SSTableBulkWriter.DEFAULT_BUFFER_SIZE_MB);
+    }
+
+    /**
+     * Class constructor.
+     *
+     * @param baseDirectory The directory where the SSTables of each table are written.
+     * @param bufferSizeMB  The size in MB of the rows of each table buffered in memory before an SSTable is flushed.
+     */
+    public SSTableBulkStorageEngine(File baseDirectory, int bufferSizeMB) {
+        this.baseDirectory = baseDirectory;
+        this.bufferSizeMB = bufferSizeMB;
+    }
+
+    @Override
+    public void insert(ClusterName targetCluster, TableMetadata targetTable, Row row, boolean ifNotExists)
+            throws ConnectorException {
+        SSTableBulkWriter writer = getWriter(targetTable, ifNotExists);
+        synchronized (writer) {
+            writer.add(row);
+        }
+    }
+
+    @Override
+    public void insert(ClusterName targetCluster, TableMetadata targetTable, Collection<Row> rows, boolean ifNotExists)
+            throws ConnectorException {
+        SSTableBulkWriter writer = getWriter(targetTable, ifNotExists);
+        synchronized (writer) {
+            for (Row row : rows) {
+                writer.add(row);
+            }
+        }
+    }
+
+    private synchronized SSTableBulkWriter getWriter(TableMetadata targetTable, boolean ifNotExists)
+            throws ConnectorException {
+        if (ifNotExists) {
+            throw new UnsupportedException("IF NOT EXISTS is not supported by the bulk load");
+        }
+        SSTableBulkWriter writer = writers.get(targetTable.getName());
+        if (writer == null) {
+            writer = new SSTableBulkWriter(baseDirectory, targetTable, bufferSizeMB);
+            writers.put(targetTable.getName(), writer);
+        }
+        return writer;
+    }
+
+    /**
+     * Get the directories with the SSTables written so far, one per table.
+     *
+     * @return The list of directories.
+     */
+    public synchronized List<File> getDirectories() {
+        List<File> directories = new ArrayList<>();
+        for (SSTableBulkWriter writer : writers.values()) {
+            directories.add(writer.getDirectory());
+        }
+        return directories;
+    }
+
+    @Override
+    public void delete(ClusterName targetCluster, TableName tableName, Collection<Filter> whereClauses)
+            throws ConnectorException {
+        throw new UnsupportedException("Delete is not supported by the bulk load");
+    }
+
+    @Override
+    public void update(ClusterName targetCluster, TableName tableName, Collection<Relation> assignments,
+            Collection<Filter> whereClauses) throws ConnectorException {
+        throw new UnsupportedException("Update is not supported by the bulk load");
+    }
+
+    @Override
+    public void truncate(ClusterName targetCluster, TableName tableName) throws ConnectorException {
+        throw new UnsupportedException("Truncate is not supported by the bulk load");
+    }
+
+    /**
+     * Flush and close the SSTables of all the tables.
+     *
+     * @throws IOException If the SSTables of a table cannot be written.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        IOException error = null;
+        for (SSTableBulkWriter writer : writers.values()) {
+            synchronized (writer) {
+                try {
+                    writer.close();
+                } catch (IOException ioe) {
+                    if (error == null) {
+                        error = ioe;
+                    }
+                }
+            }
+        }
+        writers.clear();
+        if (error != null) {
+            throw error;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Licensed to STRATIO (C) under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  The STRATIO (C) licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.stratio.connector.cassandra.bulkload;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.cassandra.exceptions.InvalidRequestException;
+import org.apache.cassandra.io.sstable.CQLSSTableWriter;
+import org.apache.log4j.Logger;
+
+import com.datastax.driver.core.DataType;
+import com.stratio.connector.cassandra.statements.CreateTableStatement;
+import com.stratio.connector.cassandra.statements.InsertIntoStatement;
+import com.stratio.connector.cassandra.utils.ColumnInsertCassandra;
+import com.stratio.connector.cassandra.utils.Utils;
+import com.stratio.crossdata.common.data.Cell;
+import com.stratio.crossdata.common.data.ColumnName;
+import com.stratio.crossdata.common.data.Row;
+import com.stratio.crossdata.common.exceptions.ExecutionException;
+import com.stratio.crossdata.common.metadata.ColumnMetadata;
+import com.stratio.crossdata.common.metadata.ColumnType;
+import com.stratio.crossdata.common.metadata.TableMetadata;
+
+/**
+ * Writer of the rows of a table into SSTables in a local directory, without any Cassandra cluster. The schema of the
+ * table is derived from its {@link com.stratio.crossdata.common.metadata.TableMetadata} and the files are written in
+ * a {@code <keyspace>/<table>} directory so that they can be streamed to a cluster with {@code sstableloader}.
+ */
+public class SSTableBulkWriter implements Closeable {
+
+    /**
+     * Class logger.
+     */
+    private static final Logger LOG = Logger.getLogger(SSTableBulkWriter.class);
+
+    /**
+     * Default size in MB of the rows buffered in memory before an SSTable is flushed.
+     */
+    public static final int DEFAULT_BUFFER_SIZE_MB = 128;
+
+    private final File directory;
+    private final List<String> columns = new ArrayList<>();
+    private final List<DataType> types = new ArrayList<>();
+    private final CQLSSTableWriter writer;
+    private long rows = 0;
+
+    /**
+     * Class constructor.
+     *
+     * @param baseDirectory The directory where the {@code <keyspace>/<table>} directory is created.
+     * @param tableMetadata The metadata of the table.
+     * @param bufferSizeMB  The size in MB of the rows buffered in memory before an SSTable is flushed.
+     * @throws ExecutionException If the schema of the table is not supported or the directory cannot be created.
+     */
+    public SSTableBulkWriter(File baseDirectory, TableMetadata tableMetadata, int bufferSizeMB)
+            throws ExecutionException {
+        this.directory = new File(new File(baseDirectory, tableMetadata.getName().getCatalogName().getName()),
+                tableMetadata.getName().getName());
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new ExecutionException("Cannot create the directory " + directory);
+        }
+
+        Map<String, ColumnInsertCassandra> allColumns = new LinkedHashMap<>();
+        for (Map.Entry<ColumnName, ColumnMetadata> column : tableMetadata.getColumns().entrySet()) {
+            String name = column.getKey().getName();
+            ColumnType columnType = column.getValue().getColumnType();
+            columns.add(name);
+            types.add(toDriverType(columnType));
+            allColumns.put(name, new ColumnInsertCassandra(columnType, null, name));
+        }
+        String schema = new CreateTableStatement(tableMetadata, "", false).toString();
+        String insert = new InsertIntoStatement(tableMetadata, allColumns, false).toTemplate();
+        try {
+            this.writer = CQLSSTableWriter.builder()
+                    .inDirectory(directory)
+                    .forTable(schema)
+                    .using(insert)
+                    .withBufferSizeInMB(bufferSizeMB)
+                    .build();
+        } catch (RuntimeException re) {
+            throw new ExecutionException("Cannot write SSTables of the table " + schema + ": " + re.getMessage(), re);
+        }
+        LOG.info("Writing SSTables of " + tableMetadata.getName() + " in " + directory);
+    }
+
+    /**
+     * Get the directory where the SSTables are written.
+     *
+     * @return The {@code <keyspace>/<table>} directory.
+     */
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Get the number of rows written.
+     *
+     * @return The number of rows.
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * Write a row. The columns that are not in the row are written as null.
+     *
+     * @param row The row.
+     * @throws ExecutionException If a value cannot be converted to the type of its column or cannot be written.
+     */
+    public void add(Row row) throws ExecutionException {
+        List<Object> values = new ArrayList<>(columns.size());
+        for (int i = 0; i < columns.size(); i++) {
+            Cell cell = row.getCell(columns.get(i));
+            try {
+                values.add(cell == null ? null : Utils.toBindValue(cell.getValue(), types.get(i)));
+            } catch (IllegalArgumentException iae) {
+                throw new ExecutionException("Invalid value " + cell.getValue() + " for column " + columns.get(i)
+                        + " of type " + types.get(i), iae);
+            }
+        }
+        try {
+            writer.addRow(values);
+            rows++;
+        } catch (InvalidRequestException | IOException e) {
+            throw new ExecutionException("Cannot write the row " + row + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Flush the rows buffered in memory and close the SSTables.
+     *
+     * @throws IOException If the SSTables cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+        writer.close();
+        LOG.info(rows + " rows written in " + directory);
+    }
+
+    /**
+     * Get the type of the driver that corresponds to the type of a column.
+     *
+     * @param columnType The type of the column.
+     * @return The {@link com.datastax.driver.core.DataType}.
+     * @throws ExecutionException If the type is not supported.
+     */
+    static DataType toDriverType(ColumnType columnType) throws ExecutionException {
+        switch (columnType.getDataType()) {
+        case BIGINT:
+            return DataType.bigint();
+        case BOOLEAN:
+            return DataType.cboolean();
+        case DOUBLE:
+            return DataType.cdouble();
+        case FLOAT:
+            return DataType.cfloat();
+        case INT:
+            return DataType.cint();
+        case TEXT:
+            return DataType.text();
+        case VARCHAR:
+            return DataType.varchar();
+        case LIST:
+            return DataType.list(toDriverType(columnType.getDBInnerType()));
+        case SET:
+            return DataType.set(toDriverType(columnType.getDBInnerType()));
+        case MAP:
+            return DataType.map(toDriverType(columnType.getDBInnerType()),
+                    toDriverType(columnType.getDBInnerValueType()));
+        default:
+            for (DataType type : DataType.allPrimitiveTypes()) {
+                if (type.getName().toString().equalsIgnoreCase(columnType.getDbType().trim())) {
+                    return type;
+                }
+            }
+            throw new ExecutionException("Type " + columnType.getDbType() + " is not supported by the bulk load");
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Licensed to STRATIO (C) under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  The STRATIO (C) licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.stratio.connector.cassandra.bulkload;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.stratio.crossdata.common.data.Cell;
+import com.stratio.crossdata.common.data.ClusterName;
+import com.stratio.crossdata.common.data.ColumnName;
+import com.stratio.crossdata.common.data.IndexName;
+import com.stratio.crossdata.common.data.Row;
+import com.stratio.crossdata.common.data.TableName;
+import com.stratio.crossdata.common.exceptions.ConnectorException;
+import com.stratio.crossdata.common.exceptions.UnsupportedException;
+import com.stratio.crossdata.common.metadata.ColumnMetadata;
+import com.stratio.crossdata.common.metadata.ColumnType;
+import com.stratio.crossdata.common.metadata.DataType;
+import com.stratio.crossdata.common.metadata.IndexMetadata;
+import com.stratio.crossdata.common.metadata.TableMetadata;
+import com.stratio.crossdata.common.statements.structures.Selector;
+
+/**
+ * Offline test of the bulk load: it does not need any Cassandra cluster.
+ */
+public class SSTableBulkStorageEngineIT {
+
+    private static final ClusterName CLUSTER = new ClusterName("cluster");
+
+    private File directory;
+
+    @BeforeClass
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("sstable-bulk-load").toFile();
+    }
+
+    @AfterClass
+    public void tearDown() {
+        delete(directory);
+    }
+
+    private void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    private TableMetadata usersTable() {
+        TableName tableName = new TableName("bulk_keyspace", "users");
+        LinkedHashMap<ColumnName, ColumnMetadata> columns = new LinkedHashMap<>();
+        String[] names = { "name", "age", "bool", "email" };
+        DataType[] types = { DataType.TEXT, DataType.INT, DataType.BOOLEAN, DataType.TEXT };
+        for (int i = 0; i < names.length; i++) {
+            ColumnName columnName = new ColumnName(tableName, names[i]);
+            columns.put(columnName, new ColumnMetadata(columnName, new Object[] { }, new ColumnType(types[i])));
+        }
+        LinkedList<ColumnName> primaryKey = new LinkedList<>();
+        primaryKey.add(new ColumnName(tableName, "name"));
+        return new TableMetadata(tableName, new HashMap<Selector, Selector>(), columns,
+                new HashMap<IndexName, IndexMetadata>(), CLUSTER, primaryKey, new LinkedList<ColumnName>());
+    }
+
+    private Row userRow(int i) {
+        Row row = new Row();
+        row.addCell("name", new Cell("name_" + i));
+        row.addCell("age", new Cell(20 + i % 50));
+        row.addCell("bool", new Cell(i % 2 == 0));
+        row.addCell("email", new Cell("name_" + i + "@domain.com"));
+        return row;
+    }
+
+    @Test
+    public void writeSSTables() throws ConnectorException, IOException {
+        TableMetadata table = usersTable();
+        SSTableBulkStorageEngine engine = new SSTableBulkStorageEngine(directory, 1);
+        List<Row> rows = new ArrayList<>();
+        for (int i = 1; i < 1000; i++) {
+            rows.add(userRow(i));
+        }
+        engine.insert(CLUSTER, table, userRow(0), false);
+        engine.insert(CLUSTER, table, rows, false);
+        List<File> directories = engine.getDirectories();
+        engine.close();
+
+        File tableDirectory = new File(new File(directory, "bulk_keyspace"), "users");
+        Assert.assertEquals(directories.size(), 1, "One directory per table");
+        Assert.assertEquals(directories.get(0), tableDirectory, "The directory must be <keyspace>/<table>");
+
+        String[] dataFiles = tableDirectory.list(new FilenameFilter() {
+            @Override
+            public boolean accept(File dir, String name) {
+                return name.endsWith("-Data.db");
+            }
+        });
+        Assert.assertNotNull(dataFiles, "The table directory must exist");
+        Assert.assertTrue(dataFiles.length > 0, "At least one SSTable must be written");
+        for (String dataFile : dataFiles) {
+            Assert.assertTrue(new File(tableDirectory, dataFile).length() > 0, "Empty SSTable " + dataFile);
+            String prefix = dataFile.substring(0, dataFile.length() - "Data.db".length());
+            Assert.assertTrue(new File(tableDirectory, prefix + "Index.db").exists(), "Missing index of " + dataFile);
+        }
+    }
+
+    @Test(expectedExceptions = UnsupportedException.class)
+    public void ifNotExistsIsNotSupported() throws ConnectorException, IOException {
+        SSTableBulkStorageEngine engine = new SSTableBulkStorageEngine(directory);
+        try {
+            engine.insert(CLUSTER, usersTable(), userRow(0), true);
+        } finally {
+            engine.close();
+        }
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Licensed to STRATIO (C) under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  The STRATIO (C) licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.stratio.connector.cassandra;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.log4j.Logger;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.exceptions.DriverException;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.stratio.crossdata.common.exceptions.ConnectorException;
+import com.stratio.crossdata.common.exceptions.CriticalExecutionException;
+import com.stratio.crossdata.common.exceptions.ExecutionException;
+
+/**
+ * Window of asynchronous writes. At most {@code maxInFlight} statements are executed at the same time: sending a
+ * statement blocks while the window is full, and the permits are granted in order of arrival. Errors are not
+ * reported when they happen but when the window is flushed, which waits for the statements in flight and reports the
+ * first error since the last flush. Each session has a window shared by all the storage engines of the connector, as
+ * Crossdata creates a storage engine per write, so the error of an asynchronous insert is reported by the next write
+ * to the same cluster whatever the engine that sends it.
+ */
+public final class AsyncWriteWindow {
+
+    /**
+     * Class logger.
+     */
+    private static final Logger LOG = Logger.getLogger(AsyncWriteWindow.class);
+
+    /**
+     * Default maximum number of statements in flight.
+     */
+    public static final int DEFAULT_MAX_IN_FLIGHT = 32;
+
+    /**
+     * The windows of asynchronous writes of the sessions.
+     */
+    private static final ConcurrentMap<Session, AsyncWriteWindow> WINDOWS = new ConcurrentHashMap<>();
+
+    private final Session session;
+    private final WriteThrottle throttle;
+    private final Semaphore permits;
+    private final Lock lock = new ReentrantLock();
+    private final Condition drained = lock.newCondition();
+    private int inFlight = 0;
+    private final AtomicReference<Throwable> error = new AtomicReference<>();
+
+    /**
+     * Class constructor of a window with its own limit.
+     *
+     * @param session     Cassandra datastax java driver session.
+     * @param maxInFlight The maximum number of statements in flight.
+     */
+    public AsyncWriteWindow(Session session, int maxInFlight) {
+        this.session = session;
+        this.throttle = WriteThrottle.forSession(session);
+        this.permits = new Semaphore(Math.max(1, maxInFlight), true);
+    }
+
+    /**
+     * Get the window of a session, creating it if it does not exist yet.
+     *
+     * @param session     Cassandra datastax java driver session.
+     * @param maxInFlight The maximum number of statements in flight if the window is created.
+     * @return The {@link com.stratio.connector.cassandra.AsyncWriteWindow} of the session.
+     */
+    public static AsyncWriteWindow forSession(Session session, int maxInFlight) {
+        AsyncWriteWindow window = WINDOWS.get(session);
+        if (window == null) {
+            AsyncWriteWindow newWindow = new AsyncWriteWindow(session, maxInFlight);
+            window = WINDOWS.putIfAbsent(session, newWindow);
+            if (window == null) {
+                window = newWindow;
+            }
+        }
+        return window;
+    }
+
+    /**
+     * Wait for the asynchronous writes in flight of a session and report the first error since the last flush.
+     *
+     * @param session Cassandra datastax java driver session.
+     * @throws ConnectorException If an asynchronous write of the session has failed.
+     */
+    public static void flush(Session session) throws ConnectorException {
+        AsyncWriteWindow window = WINDOWS.get(session);
+        if (window != null) {
+            window.flush();
+        }
+    }
+
+    /**
+     * Remove the window of a session. It must be called when the session is closed.
+     *
+     * @param session Cassandra datastax java driver session.
+     */
+    public static void release(Session session) {
+        WINDOWS.remove(session);
+    }
+
+    /**
+     * Execute a statement asynchronously, waiting while the window is full or while the throttle of the session does
+     * not allow more writes.
+     *
+     * @param statement The statement.
+     * @param rows      The number of rows written by the statement.
+     * @param bytes     The size in bytes of the values written by the statement.
+     * @throws ConnectorException If the thread is interrupted while waiting.
+     */
+    public void execute(Statement statement, int rows, int bytes) throws ConnectorException {
+        if (throttle != null) {
+            throttle.acquire(rows, bytes);
+        }
+        try {
+            permits.acquire();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new ExecutionException("Interrupted while waiting for the writes in flight", ie);
+        }
+        started();
+        try {
+            final long start = System.nanoTime();
+            ResultSetFuture future = session.executeAsync(statement);
+            Futures.addCallback(future, new FutureCallback<ResultSet>() {
+                @Override
+                public void onSuccess(ResultSet result) {
+                    if (throttle != null) {
+                        throttle.onSuccess(System.nanoTime() - start);
+                    }
+                    finished();
+                }
+
+                @Override
+                public void onFailure(Throwable t) {
+                    if (throttle != null) {
+                        throttle.onFailure(t);
+                    }
+                    failed(t);
+                    finished();
+                }
+            }, MoreExecutors.sameThreadExecutor());
+        } catch (RuntimeException re) {
+            failed(re);
+            finished();
+        }
+    }
+
+    private void started() {
+        lock.lock();
+        try {
+            inFlight++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void failed(Throwable t) {
+        if (error.compareAndSet(null, t)) {
+            LOG.warn("Asynchronous write failed, it will be reported when the window is flushed: " + t.getMessage());
+        }
+    }
+
+    private void finished() {
+        permits.release();
+        lock.lock();
+        try {
+            inFlight--;
+            if (inFlight == 0) {
+                drained.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Whether a statement of the window has failed.
+     *
+     * @return true if a statement has failed since the last flush.
+     */
+    public boolean hasFailed() {
+        return error.get() != null;
+    }
+
+    /**
+     * Wait for all the statements in flight of the window and report the first error since the last flush.
+     *
+     * @throws ConnectorException If a statement has failed.
+     */
+    public void flush() throws ConnectorException {
+        lock.lock();
+        try {
+            while (inFlight > 0) {
+                drained.await();
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new ExecutionException("Interrupted while waiting for the writes in flight", ie);
+        } finally {
+            lock.unlock();
+        }
+        Throwable t = error.getAndSet(null);
+        if (t instanceof DriverException) {
+            throw new CriticalExecutionException(t.getMessage(), (DriverException) t);
+        } else if (t != null) {
+            throw new ExecutionException(t.getMessage(), t);
+        }
+    }
+}
@@ -26,6 +26,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
@@ -38,6 +40,12 @@ import com.stratio.connector.cassandra.engine.CassandraQueryEngine;
 import com.stratio.connector.cassandra.engine.CassandraStorageEngine;
 import com.stratio.connector.cassandra.engine.Engine;
 import com.stratio.connector.cassandra.engine.EngineConfig;
+import com.stratio.connector.cassandra.engine.SpeculativeReadPolicy;
+import com.stratio.connector.cassandra.utils.CatalogMetadataCache;
+import com.stratio.connector.cassandra.utils.LuceneSchemaCache;
+import com.stratio.connector.cassandra.utils.PreparedStatementCache;
+import com.stratio.connector.cassandra.utils.TableDescriptorCache;
+import com.stratio.connector.cassandra.utils.Utils;
 import com.stratio.crossdata.common.connector.ConnectorClusterConfig;
 import com.stratio.crossdata.common.connector.IConfiguration;
 import com.stratio.crossdata.common.connector.IConnector;
@@ -68,14 +76,15 @@ public class CassandraConnector implements IConnector {
     private static final int DEFAULT_LIMIT = 100;
 
     /**
-     * The sessions of the connector.
+     * The sessions of the connector. It is shared with the engines, which read it from any connector actor while
+     * the clusters are connected and closed.
      */
-    private Map<String, Session> sessions;
+    private final ConcurrentMap<String, Session> sessions;
 
     /**
      * Map of the clusterName with a list with the properties and values of the connector.
      */
-    private Map<String, List<Pair<String, String>>> connectorOptionsPerCluster;
+    private final ConcurrentMap<String, List<Pair<String, String>>> connectorOptionsPerCluster;
 
     /**
      * String  that contains the path to connector manifest.
@@ -99,8 +108,8 @@ public class CassandraConnector implements IConnector {
      */
     public CassandraConnector() {
 
-        sessions = new HashMap<>();
-        connectorOptionsPerCluster = new HashMap<>();
+        sessions = new ConcurrentHashMap<>();
+        connectorOptionsPerCluster = new ConcurrentHashMap<>();
 
 
         if (new File("../conf/CassandraConnector.xml").exists()) {
@@ -151,7 +160,9 @@ public class CassandraConnector implements IConnector {
     }
 
     /**
-     * Connect Method: Enabled the connector with his own configuration.
+     * Connect Method: Enabled the connector with his own configuration. Crossdata attaches one cluster per call and
+     * expects the session to exist when it returns, so the clusters are connected one at a time; only the optional
+     * warm-up runs in the background.
      *
      * @param credentials The credentials.
      * @param config      The cluster config
@@ -168,8 +179,48 @@ public class CassandraConnector implements IConnector {
             return;
         }
 
-        Map<String, String> clusterOptions = config.getClusterOptions();
+        List<Pair<String, String>> connectorPropertiesList = getConnectorProperties(config);
+        Session session = createSession(credentials, config, connectorPropertiesList);
+        register(clusterName.getName(), session, connectorPropertiesList);
+    }
+
+    /**
+     * Get the connector properties of a cluster, with the DefaultLimit first.
+     *
+     * @param config The cluster config.
+     * @return The list of properties and values.
+     */
+    private List<Pair<String, String>> getConnectorProperties(ConnectorClusterConfig config) {
         Map<String, String> connectorOptions = config.getConnectorOptions();
+        Pair<String, String> connectorPropertiesValues;
+        List<Pair<String, String>> connectorPropertiesList = new ArrayList<>();
+        if (connectorOptions.get("DefaultLimit") == null) {
+            connectorPropertiesValues = new ImmutablePair<>("DefaultLimit", Integer.toString(DEFAULT_LIMIT));
+        } else {
+            connectorPropertiesValues = new ImmutablePair<>("DefaultLimit", connectorOptions.get("DefaultLimit"));
+        }
+        connectorPropertiesList.add(connectorPropertiesValues);
+        for (Map.Entry<String, String> option : connectorOptions.entrySet()) {
+            if (!"DefaultLimit".equals(option.getKey())) {
+                connectorPropertiesList.add(new ImmutablePair<>(option.getKey(), option.getValue()));
+            }
+        }
+        return connectorPropertiesList;
+    }
+
+    /**
+     * Create the session of a cluster. It does not modify the state of the connector, so the sessions of several
+     * clusters can be created concurrently.
+     *
+     * @param credentials             The credentials.
+     * @param config                  The cluster config.
+     * @param connectorPropertiesList The connector properties of the cluster.
+     * @return Cassandra datastax java driver session.
+     * @throws ConnectionException If the cluster cannot be connected.
+     */
+    private Session createSession(ICredentials credentials, ConnectorClusterConfig config,
+            List<Pair<String, String>> connectorPropertiesList) throws ConnectionException {
+        Map<String, String> clusterOptions = config.getClusterOptions();
 
         EngineConfig engineConfig = new EngineConfig();
 
@@ -185,21 +236,75 @@ public class CassandraConnector implements IConnector {
         engineConfig.setCassandraPort(Integer.parseInt(clusterOptions.get("Port")));
         engineConfig.setCredentials(credentials);
 
-        Pair<String, String> connectorPropertiesValues;
-        List<Pair<String, String>> connectorPropertiesList = new ArrayList<>();
-        if (connectorOptions.get("DefaultLimit") == null) {
-            connectorPropertiesValues = new ImmutablePair<>("DefaultLimit", Integer.toString(DEFAULT_LIMIT));
-        } else {
-            connectorPropertiesValues = new ImmutablePair<>("DefaultLimit", connectorOptions.get("DefaultLimit"));
-        }
-        connectorPropertiesList.add(connectorPropertiesValues);
-        connectorOptionsPerCluster.put(clusterName.getName(), connectorPropertiesList);
+        engineConfig.setCoreConnectionsPerHost(
+                Utils.getIntProperty(connectorPropertiesList, "CoreConnectionsPerHost", 0));
+        engineConfig.setMaxConnectionsPerHost(
+                Utils.getIntProperty(connectorPropertiesList, "MaxConnectionsPerHost", 0));
+        engineConfig.setMaxRequestsPerConnection(
+                Utils.getIntProperty(connectorPropertiesList, "MaxRequestsPerConnection", 0));
+        engineConfig.setProtocolVersion(Utils.getIntProperty(connectorPropertiesList, "ProtocolVersion", 0));
+        engineConfig.setReadTimeoutMillis(Utils.getIntProperty(connectorPropertiesList, "ReadTimeoutMillis", 0));
+        engineConfig.setTcpNoDelay(Utils.getBooleanProperty(connectorPropertiesList, "TcpNoDelay", true));
+        engineConfig.setCompression(Utils.getProperty(connectorPropertiesList, "Compression", null));
+        engineConfig.setLocalDataCenter(Utils.getProperty(connectorPropertiesList, "LocalDataCenter", null));
+        engineConfig.setUsedHostsPerRemoteDc(
+                Utils.getIntProperty(connectorPropertiesList, "UsedHostsPerRemoteDc", 0));
+        engineConfig.setLatencyAware(Utils.getBooleanProperty(connectorPropertiesList, "LatencyAware", false));
+        engineConfig.setConsistency(Utils.getProperty(connectorPropertiesList, "Consistency", null));
+        engineConfig.setSerialConsistency(Utils.getProperty(connectorPropertiesList, "SerialConsistency", null));
+        engineConfig.setLightweightConnect(
+                Utils.getBooleanProperty(connectorPropertiesList, "LightweightConnect", false));
+        engineConfig.setSpeculativeExecution(
+                Utils.getBooleanProperty(connectorPropertiesList, "SpeculativeExecution", false));
+        engineConfig.setSpeculativeExecutionDelay(Utils.getLongProperty(connectorPropertiesList,
+                "SpeculativeExecutionDelay", SpeculativeReadPolicy.DEFAULT_DELAY));
+        engineConfig.setSpeculativeExecutionPercentile(
+                Utils.getDoubleProperty(connectorPropertiesList, "SpeculativeExecutionPercentile", 0));
+        engineConfig.setSpeculativeExecutionMaxAttempts(
+                Utils.getIntProperty(connectorPropertiesList, "SpeculativeExecutionMaxAttempts", 1));
 
         Engine engine = new Engine(engineConfig);
 
         LOG.info("Cassandra session created.");
 
-        sessions.put(clusterName.getName(), engine.getSession());
+        return engine.getSession();
+    }
+
+    /**
+     * Make the session of a cluster available to the engines and start its warm-up in background. If another
+     * session of the same cluster has been registered concurrently, the new one is closed and the existing one is
+     * kept.
+     *
+     * @param clusterName             The name of the cluster.
+     * @param session                 Cassandra datastax java driver session.
+     * @param connectorPropertiesList The connector properties of the cluster.
+     */
+    private void register(String clusterName, Session session, List<Pair<String, String>> connectorPropertiesList) {
+        connectorOptionsPerCluster.putIfAbsent(clusterName, connectorPropertiesList);
+        WriteThrottle.configure(session, connectorPropertiesList);
+        PagingPool.configure(session, connectorPropertiesList);
+        if (sessions.putIfAbsent(clusterName, session) != null) {
+            LOG.warn("The connection to " + clusterName + " already exists.");
+            release(session);
+            session.closeAsync();
+            return;
+        }
+        ClusterWarmUp.start(clusterName, session, connectorPropertiesList);
+    }
+
+    /**
+     * Release the per-session state of the connector.
+     *
+     * @param session Cassandra datastax java driver session.
+     */
+    private void release(Session session) {
+        AsyncWriteWindow.release(session);
+        WriteThrottle.release(session);
+        PagingPool.release(session);
+        PreparedStatementCache.release(session);
+        TableDescriptorCache.release(session);
+        LuceneSchemaCache.release(session);
+        CatalogMetadataCache.release(session);
     }
 
     /**
@@ -211,8 +316,14 @@ public class CassandraConnector implements IConnector {
     @Override
     public void close(ClusterName name) throws ConnectionException {
         LOG.info("Closing cassandra session");
-        sessions.get(name.getName()).close();
-        sessions.remove(name.getName());
+        Session session = sessions.remove(name.getName());
+        if (session == null) {
+            LOG.warn("There is no connection to " + name.getName());
+            return;
+        }
+        connectorOptionsPerCluster.remove(name.getName());
+        release(session);
+        session.close();
     }
 
     /**
@@ -223,10 +334,14 @@ public class CassandraConnector implements IConnector {
     @Override
     public void shutdown() throws ExecutionException {
         List<CloseFuture> closeFutureList = new ArrayList<>();
-        for (Session s : sessions.values()) {
-            closeFutureList.add(s.closeAsync());
+        for (String clusterName : sessions.keySet()) {
+            Session s = sessions.remove(clusterName);
+            if (s != null) {
+                release(s);
+                closeFutureList.add(s.closeAsync());
+            }
         }
-        sessions = new HashMap<>();
+        connectorOptionsPerCluster.clear();
     }
 
     @Override public void restart() throws ExecutionException {
@@ -237,10 +352,14 @@ public class CassandraConnector implements IConnector {
      * Close at the moment all the sessions of the connector.
      */
     public void uncontrolledShutdown() {
-        for (Session s : sessions.values()) {
-            s.close();
+        for (String clusterName : sessions.keySet()) {
+            Session s = sessions.remove(clusterName);
+            if (s != null) {
+                release(s);
+                s.close();
+            }
         }
-        sessions = new HashMap<>();
+        connectorOptionsPerCluster.clear();
     }
 
     /**
@@ -251,18 +370,8 @@ public class CassandraConnector implements IConnector {
      */
     @Override
     public boolean isConnected(ClusterName name) {
-        boolean connected;
-
-        if (sessions.get(name.getName()) != null) {
-            if (sessions.get(name.getName()).getCluster() != null) {
-                connected = true;
-            } else {
-                connected = false;
-            }
-        } else {
-            connected = false;
-        }
-        return connected;
+        Session session = sessions.get(name.getName());
+        return session != null && session.getCluster() != null;
     }
 
     /**
@@ -276,7 +385,7 @@ public class CassandraConnector implements IConnector {
         if (storageEngine != null) {
             return storageEngine;
         } else {
-            return new CassandraStorageEngine(sessions);
+            return new CassandraStorageEngine(sessions, connectorOptionsPerCluster);
         }
     }
 
@@ -307,7 +416,7 @@ public class CassandraConnector implements IConnector {
         if (metadataEngine != null) {
             return metadataEngine;
         } else {
-            return new CassandraMetadataEngine(sessions);
+            return new CassandraMetadataEngine(sessions, connectorOptionsPerCluster);
         }
     }
 
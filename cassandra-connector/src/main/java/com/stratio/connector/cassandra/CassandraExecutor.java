@@ -20,14 +20,27 @@ package com.stratio.connector.cassandra;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import com.datastax.driver.core.ColumnDefinitions;
 import com.datastax.driver.core.KeyspaceMetadata;
 import com.datastax.driver.core.Metadata;
+import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Row;
@@ -35,10 +48,17 @@ import com.datastax.driver.core.Session;
 import com.datastax.driver.core.SimpleStatement;
 import com.datastax.driver.core.Statement;
 import com.datastax.driver.core.exceptions.DriverException;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.stratio.connector.cassandra.utils.CatalogMetadataCache;
+import com.stratio.connector.cassandra.utils.LuceneSchemaCache;
+import com.stratio.connector.cassandra.utils.PreparedStatementCache;
+import com.stratio.connector.cassandra.utils.ProjectionPlan;
 import com.stratio.connector.cassandra.utils.Utils;
 import com.stratio.crossdata.common.connector.IResultHandler;
 import com.stratio.crossdata.common.data.CatalogName;
-import com.stratio.crossdata.common.data.Cell;
 import com.stratio.crossdata.common.data.ClusterName;
 import com.stratio.crossdata.common.data.ColumnName;
 import com.stratio.crossdata.common.data.IndexName;
@@ -56,7 +76,6 @@ import com.stratio.crossdata.common.metadata.TableMetadata;
 import com.stratio.crossdata.common.result.QueryResult;
 import com.stratio.crossdata.common.statements.structures.Selector;
 import com.stratio.crossdata.common.statements.structures.StringSelector;
-import com.stratio.crossdata.common.utils.StringUtils;
 
 /**
  * CassandraExecutor allows to interact with the Cassandra Datastax Driver and execute the queries.
@@ -68,6 +87,51 @@ public final class CassandraExecutor {
      */
     private static Utils utils = new Utils();
 
+    /**
+     * Default percentage of a page that must be consumed before fetching the next one.
+     */
+    public static final int DEFAULT_PREFETCH_THRESHOLD = 50;
+
+    /**
+     * Default maximum number of pages of a query waiting to be delivered to the result handler.
+     */
+    public static final int DEFAULT_MAX_BUFFERED_PAGES = 2;
+
+    /**
+     * Default maximum number of bytes of the result of a query that is not paged, 0 for no limit.
+     */
+    public static final long DEFAULT_MEMORY_BUDGET = 0;
+
+    /**
+     * Number of threads that convert the results of the asynchronous queries.
+     */
+    private static final int ASYNC_THREADS = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Maximum number of results waiting to be converted.
+     */
+    private static final int ASYNC_QUEUE_SIZE = 1024;
+
+    /**
+     * Executor that converts the results of the asynchronous queries and delivers them to the result handlers. When
+     * it is saturated the new results are rejected, so that the conversion never runs on a driver I/O thread.
+     */
+    private static final ExecutorService ASYNC_EXECUTOR = new ThreadPoolExecutor(ASYNC_THREADS, ASYNC_THREADS,
+            0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<Runnable>(ASYNC_QUEUE_SIZE),
+            new ThreadFactoryBuilder().setNameFormat("cassandra-connector-async-%d").setDaemon(true).build(),
+            new ThreadPoolExecutor.AbortPolicy());
+
+    /**
+     * Number of threads that convert the metadata of the keyspaces.
+     */
+    private static final int METADATA_THREADS = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Executor that converts the metadata of the keyspaces in parallel.
+     */
+    private static final ExecutorService METADATA_EXECUTOR = Executors.newFixedThreadPool(METADATA_THREADS,
+            new ThreadFactoryBuilder().setNameFormat("cassandra-connector-metadata-%d").setDaemon(true).build());
+
     /**
      * Private class constructor as all methods are static.
      */
@@ -83,9 +147,21 @@ public final class CassandraExecutor {
      */
     public static com.stratio.crossdata.common.result.Result execute(String query, Session session)
             throws ConnectorException {
+        return execute(new SimpleStatement(query), session);
+    }
+
+    /**
+     * Executes a statement.
+     *
+     * @param statement The statement to execute.
+     * @param session   Cassandra datastax java driver session.
+     * @return a {@link com.stratio.crossdata.common.result.Result}.
+     */
+    public static com.stratio.crossdata.common.result.Result execute(Statement statement, Session session)
+            throws ConnectorException {
         ResultSet resultSet;
         try {
-            resultSet = session.execute(query);
+            resultSet = session.execute(statement);
             return com.stratio.crossdata.common.result
                     .QueryResult.createQueryResult(utils.transformToMetaResultSet(resultSet, new HashMap<Selector,
                             String>()), 0, true);
@@ -109,11 +185,45 @@ public final class CassandraExecutor {
     public static com.stratio.crossdata.common.result.Result execute(String query,
             Map<Selector, String> aliasColumns, Session session)
             throws ConnectorException {
+        return execute(new SimpleStatement(query), aliasColumns, session);
+    }
+
+    /**
+     * Executes a statement and add the alias in the Result for Selects .
+     *
+     * @param statement    The statement to execute.
+     * @param aliasColumns The Map with the alias
+     * @param session      Cassandra datastax java driver session.
+     * @return a {@link com.stratio.crossdata.common.result.Result}.
+     */
+    public static com.stratio.crossdata.common.result.Result execute(Statement statement,
+            Map<Selector, String> aliasColumns, Session session)
+            throws ConnectorException {
+        return execute(statement, aliasColumns, session, DEFAULT_MEMORY_BUDGET);
+    }
+
+    /**
+     * Executes a statement and add the alias in the Result for Selects . The rows are converted while they are
+     * fetched and the execution fails as soon as the result exceeds the memory budget.
+     *
+     * @param statement    The statement to execute.
+     * @param aliasColumns The Map with the alias
+     * @param session      Cassandra datastax java driver session.
+     * @param memoryBudget The maximum number of bytes of the result, 0 for no limit.
+     * @return a {@link com.stratio.crossdata.common.result.Result}.
+     */
+    public static com.stratio.crossdata.common.result.Result execute(Statement statement,
+            Map<Selector, String> aliasColumns, Session session, long memoryBudget)
+            throws ConnectorException {
         try {
-            ResultSet resultSet = session.execute(query);
+            ResultSet resultSet = session.execute(statement);
+            ProjectionPlan plan = new ProjectionPlan(resultSet.getColumnDefinitions().asList(), aliasColumns);
             return com.stratio.crossdata.common.result
                     .QueryResult
-                    .createQueryResult(utils.transformToMetaResultSet(resultSet, aliasColumns), 0, true);
+                    .createQueryResult(utils.transformToMetaResultSet(plan, resultSet.iterator(), memoryBudget),
+                            0, true);
+        } catch (ExecutionException ee) {
+            throw ee;
         } catch (UnsupportedOperationException unSupportException) {
             throw new UnsupportedException(unSupportException.getMessage(), unSupportException);
         } catch (DriverException dex) {
@@ -137,51 +247,245 @@ public final class CassandraExecutor {
             Map<Selector, String> aliasColumns, Session session, String queryId, IResultHandler resultHandler,
             int pageSize)
             throws ConnectorException {
+        asyncExecutePaging(new SimpleStatement(query), aliasColumns, session, queryId, resultHandler, pageSize,
+                DEFAULT_PREFETCH_THRESHOLD, DEFAULT_MAX_BUFFERED_PAGES);
+    }
+
+    /**
+     * Executes an asynchronous statement and add the alias in the Result for Selects with paging . The next page is
+     * requested to Cassandra in background once the prefetch threshold of the current page has been consumed, so it
+     * is downloaded while the current one is converted. The converted pages are handed to the handler through a
+     * bounded buffer: when it is full the paging stops until the handler catches up. The method returns as soon as
+     * the statement is sent; the rows are paged by the paging executor once the first page is received.
+     *
+     * @param st                The statement to execute.
+     * @param aliasColumns      The Map with the alias
+     * @param session           Cassandra datastax java driver session.
+     * @param queryId           The id of the query.
+     * @param resultHandler     The handler of the result.
+     * @param pageSize          The number of fetching paging.
+     * @param prefetchThreshold The percentage of a page that must be consumed before fetching the next one.
+     * @param maxBufferedPages  The maximum number of pages waiting to be delivered to the handler.
+     */
+    public static void asyncExecutePaging(Statement st,
+            final Map<Selector, String> aliasColumns, Session session, String queryId, IResultHandler resultHandler,
+            final int pageSize, int prefetchThreshold, int maxBufferedPages)
+            throws ConnectorException {
+        final QueryExecution execution = QueryExecution.register(queryId, resultHandler);
+        final PageBuffer buffer = new PageBuffer(execution, maxBufferedPages);
+        PagingPool pool = PagingPool.forSession(session);
+        if (!startPaging(pool, execution, buffer)) {
+            return;
+        }
         try {
-            Statement st = new SimpleStatement(query);
             st.setFetchSize(pageSize);
-            ResultSet resultSet = session.execute(st);
-            int numPage = 0;
-            List<ColumnDefinitions.Definition> definitions = resultSet.getColumnDefinitions().asList();
-
-            List<Row> rows = new ArrayList<>();
-            int i = 0;
-            for (Row row : resultSet) {
-                if (i < pageSize) {
-                    rows.add(row);
-                    i++;
-                } else {
-                    i = 0;
-                    QueryResult queryResult = com.stratio.crossdata.common.result
-                            .QueryResult
-                            .createQueryResult(utils.transformPagingToMetaResultSet(
-                                            definitions, rows, aliasColumns),
-                                    numPage, false);
-                    queryResult.setQueryId(queryId);
-                    resultHandler.processResult(queryResult);
-                    numPage++;
-                    rows = new ArrayList<>();
-                    rows.add(row);
+            ResultSetFuture future = session.executeAsync(st);
+            execution.setFuture(future);
+            //Rows left in the current page when the next one is requested
+            final int prefetchRows = Math.max(1, pageSize - pageSize * prefetchThreshold / 100);
+            Futures.addCallback(future, new FutureCallback<ResultSet>() {
+                @Override
+                public void onSuccess(ResultSet resultSet) {
+                    try {
+                        pageRows(execution, buffer, new PrefetchIterator(resultSet, prefetchRows),
+                                resultSet.getColumnDefinitions().asList(), aliasColumns, pageSize);
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                        execution.fail(toExecutionException(ie));
+                    } catch (Exception ex) {
+                        failPaging(execution, buffer, ex);
+                    }
                 }
-            }
-            //Send the last result
-            QueryResult queryResult = com.stratio.crossdata.common.result
-                    .QueryResult
-                    .createQueryResult(utils.transformPagingToMetaResultSet(
-                                    definitions, rows, aliasColumns),
-                            numPage, true);
-            queryResult.setQueryId(queryId);
-            resultHandler.processResult(queryResult);
 
+                @Override
+                public void onFailure(Throwable t) {
+                    failPaging(execution, buffer, t);
+                }
+            }, pool.getExecutor());
+        } catch (Exception ex) {
+            failPaging(execution, buffer, ex);
+        }
+    }
 
+    /**
+     * Executes a token range scan and add the alias in the Result for Selects with paging . The pages are handed
+     * to the handler through a bounded buffer as in {@link #asyncExecutePaging(com.datastax.driver.core.Statement,
+     * java.util.Map, com.datastax.driver.core.Session, String, com.stratio.crossdata.common.connector
+     * .IResultHandler, int, int, int)}, and the scan runs in background so the method returns at once.
+     *
+     * @param scan             The scan to execute.
+     * @param aliasColumns     The Map with the alias
+     * @param session          Cassandra datastax java driver session.
+     * @param queryId          The id of the query.
+     * @param resultHandler    The handler of the result.
+     * @param pageSize         The number of fetching paging.
+     * @param maxBufferedPages The maximum number of pages waiting to be delivered to the handler.
+     */
+    public static void asyncExecutePaging(final TokenRangeScan scan, final Map<Selector, String> aliasColumns,
+            Session session, String queryId, IResultHandler resultHandler, final int pageSize, int maxBufferedPages)
+            throws ConnectorException {
+        final QueryExecution execution = QueryExecution.register(queryId, resultHandler);
+        final PageBuffer buffer = new PageBuffer(execution, maxBufferedPages);
+        PagingPool pool = PagingPool.forSession(session);
+        if (!startPaging(pool, execution, buffer)) {
+            scan.close();
+            return;
+        }
+        pool.getExecutor().execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    scan.hasNext();
+                    pageRows(execution, buffer, scan, scan.getColumnDefinitions(), aliasColumns, pageSize);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    execution.fail(toExecutionException(ie));
+                } catch (Exception ex) {
+                    failPaging(execution, buffer, ex);
+                } finally {
+                    scan.close();
+                }
+            }
+        });
+    }
 
-        } catch (UnsupportedOperationException unSupportException) {
-            resultHandler.processException(queryId, new ExecutionException(unSupportException.getMessage(),
-                    unSupportException));
+    /**
+     * Executes a token range scan and add the alias in the Result for Selects . The rows are converted while they
+     * are fetched and the execution fails as soon as the result exceeds the memory budget.
+     *
+     * @param scan         The scan to execute.
+     * @param aliasColumns The Map with the alias
+     * @param memoryBudget The maximum number of bytes of the result, 0 for no limit.
+     * @return a {@link com.stratio.crossdata.common.result.Result}.
+     */
+    public static com.stratio.crossdata.common.result.Result execute(TokenRangeScan scan,
+            Map<Selector, String> aliasColumns, long memoryBudget) throws ConnectorException {
+        try {
+            scan.hasNext();
+            ProjectionPlan plan = new ProjectionPlan(scan.getColumnDefinitions(), aliasColumns);
+            return com.stratio.crossdata.common.result
+                    .QueryResult
+                    .createQueryResult(utils.transformToMetaResultSet(plan, scan, memoryBudget), 0, true);
+        } catch (ExecutionException ee) {
+            throw ee;
         } catch (DriverException dex) {
-            resultHandler.processException(queryId, new ExecutionException(dex.getMessage()));
+            throw new CriticalExecutionException(dex.getMessage(), dex);
         } catch (Exception ex) {
-            resultHandler.processException(queryId, new ExecutionException(ex.getMessage(), ex));
+            throw new ExecutionException(ex.getMessage(), ex);
+        } finally {
+            scan.close();
+        }
+    }
+
+    /**
+     * Group the rows of a query in pages and add them to the buffer of the handler.
+     *
+     * @param execution    The query in flight.
+     * @param buffer       The buffer of pages.
+     * @param rows         The rows of the query.
+     * @param definitions  The columns of the rows.
+     * @param aliasColumns The Map with the alias
+     * @param pageSize     The number of rows of each page.
+     * @throws InterruptedException If the thread is interrupted while the buffer is full.
+     */
+    private static void pageRows(QueryExecution execution, PageBuffer buffer, Iterator<Row> rows,
+            List<ColumnDefinitions.Definition> definitions, Map<Selector, String> aliasColumns, int pageSize)
+            throws InterruptedException {
+        ProjectionPlan plan = new ProjectionPlan(definitions, aliasColumns);
+        int numPage = 0;
+        List<Row> page = new ArrayList<>();
+        int i = 0;
+        while (rows.hasNext()) {
+            Row row = rows.next();
+            if (execution.isCancelled()) {
+                //Stop fetching pages and discard the buffered rows
+                return;
+            }
+            if (i < pageSize) {
+                page.add(row);
+                i++;
+            } else {
+                i = 0;
+                QueryResult queryResult = com.stratio.crossdata.common.result
+                        .QueryResult
+                        .createQueryResult(utils.transformPagingToMetaResultSet(plan, page),
+                                numPage, false);
+                if (!buffer.put(queryResult, false)) {
+                    return;
+                }
+                numPage++;
+                page = new ArrayList<>();
+                page.add(row);
+            }
+        }
+        //Send the last result
+        QueryResult queryResult = com.stratio.crossdata.common.result
+                .QueryResult
+                .createQueryResult(utils.transformPagingToMetaResultSet(plan, page),
+                        numPage, true);
+        buffer.put(queryResult, true);
+    }
+
+    /**
+     * Start delivering the pages of a query, failing it if the cluster is already paging the maximum number of
+     * queries.
+     *
+     * @param pool      The paging pool of the cluster.
+     * @param execution The query in flight.
+     * @param buffer    The buffer of pages of the query.
+     * @return Whether the query has been started.
+     */
+    private static boolean startPaging(PagingPool pool, QueryExecution execution, PageBuffer buffer) {
+        if (pool.start(buffer)) {
+            return true;
+        }
+        execution.fail(new ExecutionException("Too many paged queries in flight, the maximum is "
+                + pool.getMaxQueries()));
+        return false;
+    }
+
+    private static void failPaging(QueryExecution execution, PageBuffer buffer, Throwable ex) {
+        try {
+            buffer.fail(toExecutionException(ex));
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            execution.fail(toExecutionException(ex));
+        }
+    }
+
+    /**
+     * Iterator over the rows of a driver result set that requests the next page in background once only
+     * {@code prefetchRows} rows of the current one are left.
+     */
+    private static final class PrefetchIterator implements Iterator<Row> {
+        private final ResultSet resultSet;
+        private final int prefetchRows;
+
+        private PrefetchIterator(ResultSet resultSet, int prefetchRows) {
+            this.resultSet = resultSet;
+            this.prefetchRows = prefetchRows;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !resultSet.isExhausted();
+        }
+
+        @Override
+        public Row next() {
+            if (resultSet.getAvailableWithoutFetching() == prefetchRows && !resultSet.isFullyFetched()) {
+                resultSet.fetchMoreResults();
+            }
+            Row row = resultSet.one();
+            if (row == null) {
+                throw new NoSuchElementException();
+            }
+            return row;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("A result set is read only");
         }
     }
 
@@ -197,63 +501,257 @@ public final class CassandraExecutor {
     public static void asyncExecute(String query,
             Map<Selector, String> aliasColumns, Session session, String queryId, IResultHandler resultHandler)
             throws ConnectorException {
+        asyncExecute(new SimpleStatement(query), aliasColumns, session, queryId, resultHandler);
+    }
+
+    /**
+     * Executes an asynchronous statement and add the alias in the Result for Selects . The method returns as soon as
+     * the statement is sent; the result is converted and delivered to the handler by a dedicated executor.
+     *
+     * @param statement     The statement to execute.
+     * @param aliasColumns  The Map with the alias
+     * @param session       Cassandra datastax java driver session.
+     * @param queryId       The id of the query.
+     * @param resultHandler The handler of the result.
+     */
+    public static void asyncExecute(Statement statement,
+            final Map<Selector, String> aliasColumns, Session session, String queryId,
+            IResultHandler resultHandler)
+            throws ConnectorException {
+        asyncExecute(statement, aliasColumns, session, queryId, resultHandler, DEFAULT_MEMORY_BUDGET);
+    }
+
+    /**
+     * Executes an asynchronous statement and add the alias in the Result for Selects . When the result exceeds the
+     * memory budget it is delivered to the handler in pages that fit into the budget.
+     *
+     * @param statement     The statement to execute.
+     * @param aliasColumns  The Map with the alias
+     * @param session       Cassandra datastax java driver session.
+     * @param queryId       The id of the query.
+     * @param resultHandler The handler of the result.
+     * @param memoryBudget  The maximum number of bytes of each delivered result, 0 for no limit.
+     */
+    public static void asyncExecute(Statement statement,
+            final Map<Selector, String> aliasColumns, Session session, String queryId,
+            IResultHandler resultHandler, final long memoryBudget)
+            throws ConnectorException {
+        final QueryExecution execution = QueryExecution.register(queryId, resultHandler);
         try {
 
-            ResultSetFuture resultSet = session.executeAsync(query);
+            ResultSetFuture resultSet = session.executeAsync(statement);
+            execution.setFuture(resultSet);
+            new BudgetedDelivery(execution, aliasColumns, memoryBudget).await(resultSet);
 
-            while (!resultSet.isDone()) {
+        } catch (Exception ex) {
+            execution.fail(toExecutionException(ex));
+        }
+    }
 
+    /**
+     * Conversion of the rows of an asynchronous query while they are fetched, splitting the result in pages when it
+     * exceeds the memory budget. Each driver page is converted by the {@link #ASYNC_EXECUTOR} once it has been
+     * received and the next one is requested with {@link com.datastax.driver.core.ResultSet#fetchMoreResults()}, so
+     * no thread ever waits for Cassandra. If the executor is saturated the query fails.
+     */
+    private static final class BudgetedDelivery implements Executor {
+        private final QueryExecution execution;
+        private final Map<Selector, String> aliasColumns;
+        private final long memoryBudget;
+        private ProjectionPlan plan;
+        private com.stratio.crossdata.common.data.ResultSet page;
+        private int numPage = 0;
+        private long size = 0;
+
+        private BudgetedDelivery(QueryExecution execution, Map<Selector, String> aliasColumns, long memoryBudget) {
+            this.execution = execution;
+            this.aliasColumns = aliasColumns;
+            this.memoryBudget = memoryBudget;
+        }
+
+        /**
+         * Convert the rows of the result set once the future completes.
+         *
+         * @param future The future of the first page or of the next one.
+         * @param result The result set whose rows are converted.
+         */
+        private void await(ListenableFuture<?> future, final ResultSet result) {
+            Futures.addCallback(future, new FutureCallback<Object>() {
+                @Override
+                public void onSuccess(Object completed) {
+                    try {
+                        convert(result == null ? (ResultSet) completed : result);
+                    } catch (Exception ex) {
+                        onFailure(ex);
+                    }
+                }
+
+                @Override
+                public void onFailure(Throwable t) {
+                    execution.fail(toExecutionException(t));
+                }
+            }, this);
+        }
+
+        private void await(ResultSetFuture future) {
+            await(future, null);
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            try {
+                ASYNC_EXECUTOR.execute(command);
+            } catch (RejectedExecutionException ree) {
+                execution.fail(new ExecutionException("Too many asynchronous results waiting to be converted"));
             }
-            ResultSet partialResultSet = resultSet.get();
+        }
 
-            QueryResult queryResult = com.stratio.crossdata.common.result
-                    .QueryResult
-                    .createQueryResult(utils.transformToMetaResultSet(partialResultSet, aliasColumns),
-                            0, true);
-            queryResult.setQueryId(queryId);
-            resultHandler.processResult(queryResult);
-        } catch (UnsupportedOperationException unSupportException) {
-            resultHandler.processException(queryId, new ExecutionException(unSupportException.getMessage(),
-                    unSupportException));
+        /**
+         * Convert the rows already fetched and request the next page, or deliver the last one.
+         *
+         * @param resultSet The result of the query.
+         */
+        private void convert(ResultSet resultSet) {
+            if (plan == null) {
+                plan = new ProjectionPlan(resultSet.getColumnDefinitions().asList(), aliasColumns);
+                page = utils.transformPagingToMetaResultSet(plan, Collections.<Row>emptyList());
+            }
+            for (int available = resultSet.getAvailableWithoutFetching(); available > 0; available--) {
+                if (execution.isCancelled()) {
+                    return;
+                }
+                Row row = resultSet.one();
+                if (memoryBudget > 0) {
+                    long rowSize = plan.estimateSize(row);
+                    if (size + rowSize > memoryBudget && page.size() > 0) {
+                        //Over budget, switch to paging
+                        if (!execution.deliver(QueryResult.createQueryResult(page, numPage, false))) {
+                            return;
+                        }
+                        numPage++;
+                        page = utils.transformPagingToMetaResultSet(plan, Collections.<Row>emptyList());
+                        size = 0;
+                    }
+                    size += rowSize;
+                }
+                page.add(plan.project(row));
+            }
+            if (resultSet.isFullyFetched()) {
+                execution.complete(QueryResult.createQueryResult(page, numPage, true));
+            } else if (execution.isRunning()) {
+                await(resultSet.fetchMoreResults(), resultSet);
+            }
+        }
+    }
+
+    /**
+     * Stop an asynchronous or paged query in flight. The driver request is cancelled, no more pages are fetched and
+     * the handler of the query receives a final notification.
+     *
+     * @param queryId The id of the query.
+     * @return Whether the query was in flight.
+     */
+    public static boolean stop(String queryId) {
+        return QueryExecution.stop(queryId);
+    }
+
+    /**
+     * Get the {@link com.stratio.crossdata.common.exceptions.ExecutionException} to send to a result handler.
+     *
+     * @param t The error raised by the query.
+     * @return An {@link com.stratio.crossdata.common.exceptions.ExecutionException}.
+     */
+    private static ExecutionException toExecutionException(Throwable t) {
+        if (t instanceof DriverException) {
+            return new ExecutionException(t.getMessage());
+        }
+        return new ExecutionException(t.getMessage(), t);
+    }
+
+    /**
+     * Bind the values of a query template to its prepared statement. The statement is prepared only the first time
+     * the template is seen by the session.
+     *
+     * @param template The query template with bind markers.
+     * @param values   The values of the bind markers.
+     * @param session  Cassandra datastax java driver session.
+     * @return The {@link com.datastax.driver.core.Statement} ready to be executed.
+     */
+    public static Statement prepare(String template, List<Object> values, Session session)
+            throws ConnectorException {
+        try {
+            PreparedStatement preparedStatement = PreparedStatementCache.forSession(session).get(template);
+            return preparedStatement.bind(values.toArray());
         } catch (DriverException dex) {
-            resultHandler.processException(queryId, new ExecutionException(dex.getMessage()));
+            throw new CriticalExecutionException(dex.getMessage(), dex);
         } catch (Exception ex) {
-            resultHandler.processException(queryId, new ExecutionException(ex.getMessage(), ex));
+            throw new ExecutionException(ex.getMessage(), ex);
         }
     }
 
     /**
-     * Obtain the existing keyspaces in cassandra.
+     * Obtain the existing keyspaces in cassandra. The keyspaces are converted in parallel.
      *
      * @param session The cassandra session.
      * @return A list of {@link com.stratio.crossdata.common.metadata.CatalogMetadata} .
+     * @throws ConnectorException If the metadata of a keyspace cannot be converted.
      */
-    public static List<CatalogMetadata> getKeyspaces(Session session, String cluster) {
-        List<CatalogMetadata> catalogMetadataList = new ArrayList<>();
-        List<KeyspaceMetadata> keyspaceMetadataList = session.getCluster().getMetadata().getKeyspaces();
-
-        for (KeyspaceMetadata keyspaceMetadata : keyspaceMetadataList) {
-
-            //Catalogs
-            CatalogName name = new CatalogName(keyspaceMetadata.getName());
-
-            Map<Selector, Selector> options = new HashMap<>();
-            Map<String, String> replicationOptions = new HashMap<>();
+    public static List<CatalogMetadata> getKeyspaces(Session session, String cluster) throws ConnectorException {
+        return getKeyspaces(session, cluster, null);
+    }
 
-            for (Map.Entry<String, String> entry : replicationOptions.entrySet()) {
-                options.put(new StringSelector(entry.getKey()), new StringSelector(entry.getValue()));
+    /**
+     * Obtain the existing keyspaces in cassandra. The keyspaces are converted in parallel, one task per keyspace in
+     * a pool bounded to the number of processors, and the catalogs of the cache whose keyspace has not changed since
+     * they were converted are reused.
+     *
+     * @param session The cassandra session.
+     * @param cluster The name of the cluster.
+     * @param cache   The cache of converted catalogs, null to convert all the keyspaces.
+     * @return A list of {@link com.stratio.crossdata.common.metadata.CatalogMetadata} .
+     * @throws ConnectorException If the metadata of a keyspace cannot be converted.
+     */
+    public static List<CatalogMetadata> getKeyspaces(final Session session, final String cluster,
+            final CatalogMetadataCache cache) throws ConnectorException {
+        List<KeyspaceMetadata> keyspaceMetadataList = session.getCluster().getMetadata().getKeyspaces();
+        List<Future<CatalogMetadata>> futures = new ArrayList<>(keyspaceMetadataList.size());
+        for (final KeyspaceMetadata keyspaceMetadata : keyspaceMetadataList) {
+            CatalogMetadata cached = cache == null ? null
+                    : cache.get(keyspaceMetadata.getName(), cache.getVersion(keyspaceMetadata.getName()));
+            if (cached != null) {
+                futures.add(Futures.immediateFuture(cached));
+            } else {
+                futures.add(METADATA_EXECUTOR.submit(new Callable<CatalogMetadata>() {
+                    @Override
+                    public CatalogMetadata call() {
+                        return getCatalogMetadata(session, keyspaceMetadata, cluster, cache);
+                    }
+                }));
             }
-
-            //Tables
-            Map<TableName, TableMetadata> tables = getTablesFromKeyspace(session, keyspaceMetadata, cluster);
-
-            CatalogMetadata catalogMetadata = new CatalogMetadata(name, options, tables);
-            catalogMetadataList.add(catalogMetadata);
         }
 
+        List<CatalogMetadata> catalogMetadataList = new ArrayList<>(futures.size());
+        try {
+            for (Future<CatalogMetadata> future : futures) {
+                catalogMetadataList.add(future.get());
+            }
+        } catch (InterruptedException ie) {
+            cancel(futures);
+            Thread.currentThread().interrupt();
+            throw new ExecutionException("Interrupted while reading the metadata of the cluster " + cluster, ie);
+        } catch (java.util.concurrent.ExecutionException ee) {
+            cancel(futures);
+            throw toExecutionException(ee.getCause());
+        }
         return catalogMetadataList;
     }
 
+    private static void cancel(List<Future<CatalogMetadata>> futures) {
+        for (Future<CatalogMetadata> future : futures) {
+            future.cancel(true);
+        }
+    }
+
     /**
      * Get the specified Catalog from the cassandra keyspace.
      *
@@ -262,10 +760,45 @@ public final class CassandraExecutor {
      * @return A {@link com.stratio.crossdata.common.metadata.CatalogMetadata} .
      */
     public static CatalogMetadata getKeyspacesByName(Session session, CatalogName catalogName, String cluster) {
+        return getKeyspacesByName(session, catalogName, cluster, null);
+    }
 
+    /**
+     * Get the specified Catalog from the cassandra keyspace, reusing the catalog of the cache if the keyspace has not
+     * changed since it was converted.
+     *
+     * @param session     The cassandra session.
+     * @param catalogName The catalog name of the cassandra keyspace.
+     * @param cluster     The name of the cluster.
+     * @param cache       The cache of converted catalogs, null to convert the keyspace.
+     * @return A {@link com.stratio.crossdata.common.metadata.CatalogMetadata} .
+     */
+    public static CatalogMetadata getKeyspacesByName(Session session, CatalogName catalogName, String cluster,
+            CatalogMetadataCache cache) {
         KeyspaceMetadata keyspace = session.getCluster().getMetadata().getKeyspace(Utils.toCaseSensitive(catalogName
                 .getName()));
-        CatalogName name = new CatalogName(keyspace.getName());
+        return getCatalogMetadata(session, keyspace, cluster, cache);
+    }
+
+    /**
+     * Convert a keyspace into a Crossdata catalog, or get it from the cache if it has not changed.
+     *
+     * @param session          The cassandra session.
+     * @param keyspaceMetadata The keyspace metadata.
+     * @param cluster          The name of the cluster.
+     * @param cache            The cache of converted catalogs, null to convert the keyspace.
+     * @return A {@link com.stratio.crossdata.common.metadata.CatalogMetadata} .
+     */
+    private static CatalogMetadata getCatalogMetadata(Session session, KeyspaceMetadata keyspaceMetadata,
+            String cluster, CatalogMetadataCache cache) {
+        long version = cache == null ? 0 : cache.getVersion(keyspaceMetadata.getName());
+        CatalogMetadata catalogMetadata = cache == null ? null : cache.get(keyspaceMetadata.getName(), version);
+        if (catalogMetadata != null) {
+            return catalogMetadata;
+        }
+
+        //Catalogs
+        CatalogName name = new CatalogName(keyspaceMetadata.getName());
 
         Map<Selector, Selector> options = new HashMap<>();
         Map<String, String> replicationOptions = new HashMap<>();
@@ -274,8 +807,13 @@ public final class CassandraExecutor {
             options.put(new StringSelector(entry.getKey()), new StringSelector(entry.getValue()));
         }
 
-        Map<TableName, TableMetadata> tables = getTablesFromKeyspace(session, keyspace, cluster);
-        CatalogMetadata catalogMetadata = new CatalogMetadata(name, options, tables);
+        //Tables
+        Map<TableName, TableMetadata> tables = getTablesFromKeyspace(session, keyspaceMetadata, cluster);
+
+        catalogMetadata = new CatalogMetadata(name, options, tables);
+        if (cache != null) {
+            cache.put(keyspaceMetadata.getName(), version, catalogMetadata);
+        }
         return catalogMetadata;
     }
 
@@ -396,45 +934,29 @@ public final class CassandraExecutor {
         return new TableMetadata(tableName, null, columns, indexes, clusterRef, partitionKey, clusterKey);
     }
 
+    /**
+     * Get the columns of a Lucene index from the cached schema of the indexes of its keyspace.
+     *
+     * @param session        The cassandra session.
+     * @param indexName      The name of the index.
+     * @param cassandraIndex The cassandra index metadata.
+     * @return The indexed fields as columns.
+     */
     private static Map<ColumnName, ColumnMetadata> getLuceneIndex(Session session, IndexName indexName,
             com.datastax.driver.core.ColumnMetadata.IndexMetadata cassandraIndex) {
 
-        Map<ColumnName, ColumnMetadata> columnMap=new HashMap<>();
-
-        String table=cassandraIndex.getIndexedColumn().getTable().getName();
-        String keyspace=cassandraIndex.getIndexedColumn().getTable().getKeyspace().getName();
-        String sqlIndex="SELECT index_options from system.schema_columns where keyspace_name='"+ keyspace +
-                "' and columnfamily_name ='" + table + "'";
-
-        ResultSet result=session.execute(sqlIndex);
-        QueryResult queryResult=com.stratio.crossdata.common.result
-                .QueryResult.createQueryResult(utils.transformToMetaResultSet(result, new HashMap<Selector,
-                String>()), 0, true);
-
-        for (com.stratio.crossdata.common.data.Row row:queryResult.getResultSet().getRows()){
-            Map<String,Cell> rowCell=row.getCells();
-            if(!rowCell.get("index_options").getValue().equals("null")){
-                Map<Selector,Selector> map=StringUtils.convertJsonToOptions(new TableName(keyspace,table),
-                        rowCell.get("index_options").getValue().toString());
-
-                if (!map.isEmpty()) {
-                    String schema = map.get(new StringSelector("schema")).getStringValue();
-                    String fieldsString = schema.substring(schema.indexOf("fields:{") + 8);
-                    String[] fields = fieldsString.split(",");
-                    for (String field : fields) {
-                        String[] fieldParts = field.split(":");
-                        if (fieldParts.length==3) {
-                            String fieldName = fieldParts[0].replace("\"", "");
-                            String fieldType = fieldParts[2].replace("}", "").replace("\"", "");
-                            ColumnName columnName = new ColumnName(keyspace, table, fieldName);
-                            ColumnType columnType = new ColumnType(Utils.getDataTypeFromString(fieldType));
-                            columnType.setDbType(fieldType);
-                            ColumnMetadata columnMetadata = new ColumnMetadata(columnName, null, columnType);
-                            columnMap.put(columnName, columnMetadata);
-                        }
-                    }
-                }
-            }
+        Map<ColumnName, ColumnMetadata> columnMap = new HashMap<>();
+
+        String table = cassandraIndex.getIndexedColumn().getTable().getName();
+        String keyspace = cassandraIndex.getIndexedColumn().getTable().getKeyspace().getName();
+
+        for (Map.Entry<String, String> field : LuceneSchemaCache.forSession(session).getFields(keyspace, table)
+                .entrySet()) {
+            ColumnName columnName = new ColumnName(keyspace, table, field.getKey());
+            ColumnType columnType = new ColumnType(Utils.getDataTypeFromString(field.getValue()));
+            columnType.setDbType(field.getValue());
+            ColumnMetadata columnMetadata = new ColumnMetadata(columnName, null, columnType);
+            columnMap.put(columnName, columnMetadata);
         }
         return columnMap;
     }
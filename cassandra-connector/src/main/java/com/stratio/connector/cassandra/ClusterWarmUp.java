@@ -0,0 +1,234 @@
+/*
+ * Licensed to STRATIO (C) under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  The STRATIO (C) licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.stratio.connector.cassandra;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.log4j.Logger;
+
+import com.datastax.driver.core.Host;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.SimpleStatement;
+import com.datastax.driver.core.exceptions.DriverException;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.stratio.connector.cassandra.utils.PreparedStatementCache;
+import com.stratio.connector.cassandra.utils.TableDescriptorCache;
+import com.stratio.connector.cassandra.utils.Utils;
+
+/**
+ * Warm-up of a new session so that the first queries of a cluster do not pay for its initialization: the core
+ * connections to all the hosts are opened in parallel, the table descriptors of the keyspaces listed in
+ * WarmUpKeyspaces are resolved and the CQL templates listed in WarmUpStatements are prepared. The warm-up runs in
+ * background once the session is available, so it does not delay the connection, and a failure of any phase is
+ * logged.
+ */
+public final class ClusterWarmUp {
+
+    /**
+     * Class logger.
+     */
+    private static final Logger LOG = Logger.getLogger(ClusterWarmUp.class);
+
+    /**
+     * Default number of requests sent per host to open its connections.
+     */
+    public static final int DEFAULT_REQUESTS_PER_HOST = 2;
+
+    private static final String PING_QUERY = "SELECT release_version FROM system.local";
+
+    /**
+     * Executor that warms the sessions up, so that several clusters are warmed up at the same time.
+     */
+    private static final ExecutorService WARM_UP_EXECUTOR = Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(),
+            new ThreadFactoryBuilder().setNameFormat("cassandra-connector-warm-up-%d").setDaemon(true).build());
+
+    private static final String TABLES_QUERY = "SELECT columnfamily_name FROM system.schema_columnfamilies "
+            + "WHERE keyspace_name = ?";
+
+    private final String clusterName;
+    private final Session session;
+    private long connectionsTime;
+    private long descriptorsTime;
+    private long statementsTime;
+    private int connections;
+    private int tables;
+    private int statements;
+
+    private ClusterWarmUp(String clusterName, Session session) {
+        this.clusterName = clusterName;
+        this.session = session;
+    }
+
+    /**
+     * Start the warm-up of a session in background if the WarmUp connector property of its cluster is true.
+     *
+     * @param clusterName The name of the cluster.
+     * @param session     Cassandra datastax java driver session.
+     * @param properties  The connector properties of the cluster.
+     * @return The future {@link com.stratio.connector.cassandra.ClusterWarmUp} with the timing of each phase or null
+     * if the warm-up is disabled.
+     */
+    public static Future<ClusterWarmUp> start(final String clusterName, final Session session,
+            final List<Pair<String, String>> properties) {
+        if (!Utils.getBooleanProperty(properties, "WarmUp", false)) {
+            return null;
+        }
+        return WARM_UP_EXECUTOR.submit(new Callable<ClusterWarmUp>() {
+            @Override
+            public ClusterWarmUp call() {
+                return run(clusterName, session, properties);
+            }
+        });
+    }
+
+    private static ClusterWarmUp run(String clusterName, Session session, List<Pair<String, String>> properties) {
+        ClusterWarmUp warmUp = new ClusterWarmUp(clusterName, session);
+        try {
+            warmUp.openConnections(Utils.getIntProperty(properties, "CoreConnectionsPerHost", 0));
+            warmUp.resolveTables(split(Utils.getProperty(properties, "WarmUpKeyspaces", null), ","));
+            warmUp.prepareStatements(split(Utils.getProperty(properties, "WarmUpStatements", null), ";"));
+            LOG.info(warmUp);
+        } catch (RuntimeException re) {
+            //The session may be closed while it is warmed up
+            LOG.warn("Warm-up of " + clusterName + " interrupted: " + re.getMessage());
+        }
+        return warmUp;
+    }
+
+    private static List<String> split(String value, String separator) {
+        List<String> items = new ArrayList<>();
+        if (value != null) {
+            for (String item : value.split(separator)) {
+                if (!item.trim().isEmpty()) {
+                    items.add(item.trim());
+                }
+            }
+        }
+        return items;
+    }
+
+    private void openConnections(int coreConnectionsPerHost) {
+        long start = System.nanoTime();
+        int hosts = session.getCluster().getMetadata().getAllHosts().size();
+        int requests = hosts * Math.max(coreConnectionsPerHost, DEFAULT_REQUESTS_PER_HOST);
+        List<ListenableFuture<ResultSet>> futures = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            futures.add(session.executeAsync(new SimpleStatement(PING_QUERY).setIdempotent(true)));
+        }
+        try {
+            Futures.successfulAsList(futures).get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        } catch (java.util.concurrent.ExecutionException ee) {
+            LOG.warn("Cannot open the connections of " + clusterName + ": " + ee.getMessage());
+        }
+        for (Host host : session.getState().getConnectedHosts()) {
+            connections += session.getState().getOpenConnections(host);
+        }
+        connectionsTime = System.nanoTime() - start;
+    }
+
+    private void resolveTables(List<String> keyspaces) {
+        long start = System.nanoTime();
+        TableDescriptorCache cache = TableDescriptorCache.forSession(session);
+        for (String keyspace : keyspaces) {
+            try {
+                for (Row row : session.execute(new SimpleStatement(TABLES_QUERY, keyspace))) {
+                    if (cache.get(keyspace, row.getString("columnfamily_name")) != null) {
+                        tables++;
+                    }
+                }
+            } catch (DriverException de) {
+                LOG.warn("Cannot resolve the tables of " + keyspace + " in " + clusterName + ": " + de.getMessage());
+            }
+        }
+        descriptorsTime = System.nanoTime() - start;
+    }
+
+    private void prepareStatements(List<String> templates) {
+        long start = System.nanoTime();
+        PreparedStatementCache cache = PreparedStatementCache.forSession(session);
+        for (String template : templates) {
+            try {
+                cache.get(template);
+                statements++;
+            } catch (RuntimeException re) {
+                LOG.warn("Cannot prepare " + template + " in " + clusterName + ": " + re.getMessage());
+            }
+        }
+        statementsTime = System.nanoTime() - start;
+    }
+
+    /**
+     * Get the total time of the warm-up.
+     *
+     * @return The time in milliseconds.
+     */
+    public long getTotalTime() {
+        return TimeUnit.NANOSECONDS.toMillis(connectionsTime + descriptorsTime + statementsTime);
+    }
+
+    /**
+     * Get the number of connections open after the warm-up.
+     *
+     * @return The number of connections to all the hosts.
+     */
+    public int getConnections() {
+        return connections;
+    }
+
+    /**
+     * Get the number of table descriptors resolved.
+     *
+     * @return The number of tables.
+     */
+    public int getTables() {
+        return tables;
+    }
+
+    /**
+     * Get the number of statements prepared.
+     *
+     * @return The number of statements.
+     */
+    public int getStatements() {
+        return statements;
+    }
+
+    @Override
+    public String toString() {
+        return "Warm-up of " + clusterName + " in " + getTotalTime() + " ms: "
+                + connections + " connections in " + TimeUnit.NANOSECONDS.toMillis(connectionsTime) + " ms, "
+                + tables + " tables in " + TimeUnit.NANOSECONDS.toMillis(descriptorsTime) + " ms, "
+                + statements + " statements in " + TimeUnit.NANOSECONDS.toMillis(statementsTime) + " ms";
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to STRATIO (C) under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  The STRATIO (C) licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.stratio.connector.cassandra;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.Logger;
+
+import com.stratio.crossdata.common.exceptions.ExecutionException;
+import com.stratio.crossdata.common.result.QueryResult;
+
+/**
+ * Bounded handoff between the loop that pages a query and the {@link com.stratio.crossdata.common.connector
+ * .IResultHandler}. The paging loop blocks when the buffer is full, so the next driver page is not fetched until the
+ * handler has consumed the previous ones and the memory used by a query is bounded whatever the speed of the
+ * handler.
+ */
+final class PageBuffer implements Runnable {
+
+    /**
+     * Class logger.
+     */
+    private static final Logger LOG = Logger.getLogger(PageBuffer.class);
+
+    /**
+     * Milliseconds between checks of the state of the query while waiting.
+     */
+    private static final long POLL_MILLIS = 100;
+
+    /**
+     * A page, or the error that ends the query.
+     */
+    private static final class Page {
+        private final QueryResult result;
+        private final boolean last;
+        private final ExecutionException error;
+
+        private Page(QueryResult result, boolean last, ExecutionException error) {
+            this.result = result;
+            this.last = last;
+            this.error = error;
+        }
+    }
+
+    private final QueryExecution execution;
+    private final BlockingQueue<Page> pages;
+
+    /**
+     * Class constructor.
+     *
+     * @param execution The query whose pages are buffered.
+     * @param maxPages  The maximum number of pages waiting to be delivered.
+     */
+    PageBuffer(QueryExecution execution, int maxPages) {
+        this.execution = execution;
+        this.pages = new ArrayBlockingQueue<>(Math.max(1, maxPages));
+    }
+
+    /**
+     * Add a page, waiting while the buffer is full.
+     *
+     * @param result The page.
+     * @param last   Whether it is the last page of the query.
+     * @return false if the query is no longer running and the page has been discarded.
+     * @throws InterruptedException If the thread is interrupted while waiting.
+     */
+    boolean put(QueryResult result, boolean last) throws InterruptedException {
+        return put(new Page(result, last, null));
+    }
+
+    /**
+     * Add the error that ends the query, after the pages already buffered.
+     *
+     * @param error The error.
+     * @throws InterruptedException If the thread is interrupted while waiting.
+     */
+    void fail(ExecutionException error) throws InterruptedException {
+        put(new Page(null, true, error));
+    }
+
+    private boolean put(Page page) throws InterruptedException {
+        while (execution.isRunning()) {
+            if (pages.offer(page, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        }
+        pages.clear();
+        return false;
+    }
+
+    /**
+     * Deliver the buffered pages to the handler until the last one or the query is stopped.
+     */
+    @Override
+    public void run() {
+        try {
+            while (execution.isRunning()) {
+                Page page = pages.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (page == null) {
+                    continue;
+                }
+                if (page.error != null) {
+                    execution.fail(page.error);
+                } else if (page.last) {
+                    execution.complete(page.result);
+                } else {
+                    execution.deliver(page.result);
+                }
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            execution.fail(new ExecutionException("Delivery of the results interrupted", ie));
+        } catch (RuntimeException re) {
+            LOG.error("The result handler failed", re);
+            execution.fail(new ExecutionException(re.getMessage(), re));
+        }
+        pages.clear();
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Licensed to STRATIO (C) under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  The STRATIO (C) licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.stratio.connector.cassandra;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.log4j.Logger;
+
+import com.datastax.driver.core.Session;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.stratio.connector.cassandra.utils.Utils;
+
+/**
+ * Bounded pool of the threads that page the queries of a cluster. Each paged query uses two threads, one that reads
+ * the driver pages and one that delivers them to the handler, and at most MaxPagedQueries queries are paged at the
+ * same time: a new paged query is rejected while all of them are in flight.
+ */
+public final class PagingPool {
+
+    /**
+     * Class logger.
+     */
+    private static final Logger LOG = Logger.getLogger(PagingPool.class);
+
+    /**
+     * Default maximum number of paged queries in flight per cluster.
+     */
+    public static final int DEFAULT_MAX_PAGED_QUERIES = 16;
+
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    /**
+     * The pools of the sessions.
+     */
+    private static final ConcurrentMap<Session, PagingPool> POOLS = new ConcurrentHashMap<>();
+
+    private final int maxQueries;
+    private final Semaphore slots;
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Class constructor.
+     *
+     * @param maxQueries The maximum number of paged queries in flight.
+     */
+    public PagingPool(int maxQueries) {
+        this.maxQueries = Math.max(1, maxQueries);
+        this.slots = new Semaphore(this.maxQueries);
+        this.executor = new ThreadPoolExecutor(2 * this.maxQueries, 2 * this.maxQueries, KEEP_ALIVE_SECONDS,
+                TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+                new ThreadFactoryBuilder().setNameFormat("cassandra-connector-paging-%d").setDaemon(true).build());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Configure the pool of a session from the MaxPagedQueries connector property of its cluster.
+     *
+     * @param session    Cassandra datastax java driver session.
+     * @param properties The connector properties of the cluster.
+     */
+    public static void configure(Session session, List<Pair<String, String>> properties) {
+        int maxQueries = Utils.getIntProperty(properties, "MaxPagedQueries", DEFAULT_MAX_PAGED_QUERIES);
+        PagingPool previous = POOLS.put(session, new PagingPool(maxQueries));
+        if (previous != null) {
+            previous.executor.shutdown();
+        }
+        LOG.info("At most " + maxQueries + " paged queries in flight");
+    }
+
+    /**
+     * Get the pool of a session, creating it with the default size if it has not been configured.
+     *
+     * @param session Cassandra datastax java driver session.
+     * @return The {@link com.stratio.connector.cassandra.PagingPool} of the session.
+     */
+    public static PagingPool forSession(Session session) {
+        PagingPool pool = POOLS.get(session);
+        if (pool == null) {
+            PagingPool newPool = new PagingPool(DEFAULT_MAX_PAGED_QUERIES);
+            pool = POOLS.putIfAbsent(session, newPool);
+            if (pool == null) {
+                pool = newPool;
+            } else {
+                newPool.executor.shutdown();
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * Remove the pool of a session. The queries in flight are paged until they finish. It must be called when the
+     * session is closed.
+     *
+     * @param session Cassandra datastax java driver session.
+     */
+    public static void release(Session session) {
+        PagingPool pool = POOLS.remove(session);
+        if (pool != null) {
+            pool.executor.shutdown();
+        }
+    }
+
+    /**
+     * Get the maximum number of paged queries in flight.
+     *
+     * @return The number of queries.
+     */
+    public int getMaxQueries() {
+        return maxQueries;
+    }
+
+    /**
+     * Start delivering the pages of a new query. The query keeps its slot until the buffer stops delivering.
+     *
+     * @param buffer The buffer of pages of the query.
+     * @return false if the maximum of paged queries in flight has been reached and the query has not been started.
+     */
+    boolean start(final PageBuffer buffer) {
+        if (!slots.tryAcquire()) {
+            return false;
+        }
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        buffer.run();
+                    } finally {
+                        slots.release();
+                    }
+                }
+            });
+        } catch (RuntimeException re) {
+            slots.release();
+            throw re;
+        }
+        return true;
+    }
+
+    /**
+     * Get the executor that reads the driver pages of the queries.
+     *
+     * @return The {@link java.util.concurrent.Executor}.
+     */
+    Executor getExecutor() {
+        return executor;
+    }
+}
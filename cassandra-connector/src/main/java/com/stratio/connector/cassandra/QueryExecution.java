@@ -0,0 +1,197 @@
+/*
+ * Licensed to STRATIO (C) under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  The STRATIO (C) licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.stratio.connector.cassandra;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.log4j.Logger;
+
+import com.datastax.driver.core.ResultSetFuture;
+import com.stratio.crossdata.common.connector.IResultHandler;
+import com.stratio.crossdata.common.exceptions.ExecutionException;
+import com.stratio.crossdata.common.result.QueryResult;
+
+/**
+ * An asynchronous or paged query in flight. Every result delivered to the {@link IResultHandler} goes through this
+ * class, which guarantees that nothing is delivered once the query has been stopped and that the handler receives
+ * exactly one final notification.
+ */
+final class QueryExecution {
+
+    /**
+     * Class logger.
+     */
+    private static final Logger LOG = Logger.getLogger(QueryExecution.class);
+
+    /**
+     * The queries in flight by query identifier.
+     */
+    private static final ConcurrentMap<String, QueryExecution> IN_FLIGHT = new ConcurrentHashMap<>();
+
+    /**
+     * The state of the query.
+     */
+    private enum State {
+        RUNNING, FINISHED, CANCELLED
+    }
+
+    private final String queryId;
+    private final IResultHandler resultHandler;
+    private volatile State state = State.RUNNING;
+    private ResultSetFuture future;
+
+    /**
+     * Class constructor.
+     *
+     * @param queryId       The id of the query.
+     * @param resultHandler The handler of the result.
+     */
+    private QueryExecution(String queryId, IResultHandler resultHandler) {
+        this.queryId = queryId;
+        this.resultHandler = resultHandler;
+    }
+
+    /**
+     * Register a new query in flight.
+     *
+     * @param queryId       The id of the query.
+     * @param resultHandler The handler of the result.
+     * @return The registered {@link QueryExecution}.
+     */
+    static QueryExecution register(String queryId, IResultHandler resultHandler) {
+        QueryExecution execution = new QueryExecution(queryId, resultHandler);
+        QueryExecution previous = IN_FLIGHT.put(queryId, execution);
+        if (previous != null) {
+            LOG.warn("Query " + queryId + " was already in flight, it will not be stoppable any more");
+        }
+        return execution;
+    }
+
+    /**
+     * Stop a query in flight.
+     *
+     * @param queryId The id of the query.
+     * @return Whether the query was found and stopped.
+     */
+    static boolean stop(String queryId) {
+        QueryExecution execution = IN_FLIGHT.get(queryId);
+        return execution != null && execution.cancel();
+    }
+
+    /**
+     * Set the driver future of the query. If the query has already been stopped the future is cancelled.
+     *
+     * @param resultSetFuture The future of the query.
+     */
+    synchronized void setFuture(ResultSetFuture resultSetFuture) {
+        this.future = resultSetFuture;
+        if (state == State.CANCELLED) {
+            resultSetFuture.cancel(true);
+        }
+    }
+
+    /**
+     * Whether the query has been stopped.
+     *
+     * @return true if the query has been stopped.
+     */
+    boolean isCancelled() {
+        return state == State.CANCELLED;
+    }
+
+    /**
+     * Whether the query is still running.
+     *
+     * @return true if the query has neither finished nor been stopped.
+     */
+    boolean isRunning() {
+        return state == State.RUNNING;
+    }
+
+    /**
+     * Deliver an intermediate page of results.
+     *
+     * @param queryResult The page.
+     * @return false if the query is no longer running and the page has been discarded.
+     */
+    synchronized boolean deliver(QueryResult queryResult) {
+        if (state != State.RUNNING) {
+            return false;
+        }
+        queryResult.setQueryId(queryId);
+        resultHandler.processResult(queryResult);
+        return true;
+    }
+
+    /**
+     * Deliver the last page of results and unregister the query.
+     *
+     * @param queryResult The last page.
+     * @return false if the query is no longer running and the page has been discarded.
+     */
+    synchronized boolean complete(QueryResult queryResult) {
+        if (!deliver(queryResult)) {
+            return false;
+        }
+        finish();
+        return true;
+    }
+
+    /**
+     * Notify an error and unregister the query.
+     *
+     * @param exception The error.
+     * @return false if the query is no longer running and the error has been discarded.
+     */
+    synchronized boolean fail(ExecutionException exception) {
+        if (state != State.RUNNING) {
+            return false;
+        }
+        finish();
+        resultHandler.processException(queryId, exception);
+        return true;
+    }
+
+    /**
+     * Stop the query: the driver request is cancelled, no more results are delivered and the handler is notified.
+     *
+     * @return false if the query was not running.
+     */
+    synchronized boolean cancel() {
+        if (state != State.RUNNING) {
+            return false;
+        }
+        state = State.CANCELLED;
+        IN_FLIGHT.remove(queryId, this);
+        if (future != null) {
+            future.cancel(true);
+            future = null;
+        }
+        LOG.info("Query " + queryId + " stopped");
+        resultHandler.processException(queryId, new ExecutionException("Query " + queryId + " has been stopped"));
+        return true;
+    }
+
+    private void finish() {
+        state = State.FINISHED;
+        future = null;
+        IN_FLIGHT.remove(queryId, this);
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * Licensed to STRATIO (C) under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  The STRATIO (C) licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.stratio.connector.cassandra;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.Host;
+import com.datastax.driver.core.Metadata;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.TokenRange;
+import com.stratio.connector.cassandra.utils.PreparedStatementCache;
+
+/**
+ * Full table scan split in the token ranges of the ring. Up to {@code parallelism} ranges are read at the same time:
+ * each of them fetches its next page in background while its rows are buffered, and the rows are returned from
+ * whichever range has some available. The memory used is bounded by about one page and a half per range being read.
+ * The scan stops once the limit of the query has been returned.
+ */
+public final class TokenRangeScan implements Iterator<Row> {
+
+    /**
+     * Default number of token ranges requested at the same time. A value of 1 disables the scan mode.
+     */
+    public static final int DEFAULT_PARALLELISM = 1;
+
+    /**
+     * Number of rows of each page of a scan that is not paged by the handler.
+     */
+    public static final int DEFAULT_FETCH_SIZE = 5000;
+
+    private final Session session;
+    private final PreparedStatement bounded;
+    private final PreparedStatement openEnded;
+    private final Deque<TokenRange> pending;
+    private final Deque<ResultSetFuture> inFlight = new ArrayDeque<>();
+    private final int parallelism;
+    private final int limit;
+    private final int fetchSize;
+    private final ConsistencyLevel consistency;
+    private ResultSet current;
+    private List<ColumnDefinitions.Definition> definitions = new ArrayList<>();
+    private int returned = 0;
+    private volatile boolean closed = false;
+
+    /**
+     * Class constructor.
+     *
+     * @param session     The Cassandra session.
+     * @param bounded     The statement that reads a range with an upper bound.
+     * @param openEnded   The statement that reads a range without upper bound.
+     * @param ranges      The ranges to read.
+     * @param parallelism The number of ranges requested at the same time.
+     * @param limit       The maximum number of rows returned.
+     * @param fetchSize   The number of rows of each page.
+     * @param consistency The consistency level of the requests, null for the default of the cluster.
+     */
+    private TokenRangeScan(Session session, PreparedStatement bounded, PreparedStatement openEnded,
+            Deque<TokenRange> ranges, int parallelism, int limit, int fetchSize, ConsistencyLevel consistency) {
+        this.session = session;
+        this.bounded = bounded;
+        this.openEnded = openEnded;
+        this.pending = ranges;
+        this.parallelism = parallelism;
+        this.limit = limit;
+        this.fetchSize = fetchSize;
+        this.consistency = consistency;
+    }
+
+    /**
+     * Create a scan of all the token ranges of a keyspace. Consecutive ranges belong to different replicas so the
+     * requests in flight are spread across the cluster.
+     *
+     * @param session           The Cassandra session.
+     * @param keyspace          The keyspace of the table.
+     * @param boundedTemplate   The query template for a range with an upper bound.
+     * @param openEndedTemplate The query template for a range without upper bound.
+     * @param parallelism       The number of ranges requested at the same time.
+     * @param limit             The maximum number of rows returned.
+     * @param fetchSize         The number of rows of each page.
+     * @param consistency       The consistency level of the requests, null for the default of the cluster.
+     * @return A {@link com.stratio.connector.cassandra.TokenRangeScan}.
+     */
+    public static TokenRangeScan create(Session session, String keyspace, String boundedTemplate,
+            String openEndedTemplate, int parallelism, int limit, int fetchSize, ConsistencyLevel consistency) {
+        Metadata metadata = session.getCluster().getMetadata();
+        List<TokenRange> ranges = new ArrayList<>();
+        for (TokenRange range : metadata.getTokenRanges()) {
+            ranges.addAll(range.unwrap());
+        }
+        if (!ranges.isEmpty() && ranges.size() < parallelism) {
+            int splits = (parallelism + ranges.size() - 1) / ranges.size();
+            List<TokenRange> splitRanges = new ArrayList<>();
+            for (TokenRange range : ranges) {
+                splitRanges.addAll(range.splitEvenly(splits));
+            }
+            ranges = splitRanges;
+        }
+
+        //Group the ranges by replica and interleave them
+        Map<Host, Deque<TokenRange>> byReplica = new LinkedHashMap<>();
+        for (TokenRange range : ranges) {
+            Set<Host> replicas = metadata.getReplicas(keyspace, range);
+            Host replica = replicas.isEmpty() ? null : replicas.iterator().next();
+            Deque<TokenRange> replicaRanges = byReplica.get(replica);
+            if (replicaRanges == null) {
+                replicaRanges = new ArrayDeque<>();
+                byReplica.put(replica, replicaRanges);
+            }
+            replicaRanges.add(range);
+        }
+        Deque<TokenRange> interleaved = new ArrayDeque<>();
+        while (interleaved.size() < ranges.size()) {
+            for (Deque<TokenRange> replicaRanges : byReplica.values()) {
+                if (!replicaRanges.isEmpty()) {
+                    interleaved.add(replicaRanges.poll());
+                }
+            }
+        }
+
+        PreparedStatementCache cache = PreparedStatementCache.forSession(session);
+        return new TokenRangeScan(session, cache.get(boundedTemplate), cache.get(openEndedTemplate), interleaved,
+                Math.max(1, parallelism), limit, fetchSize, consistency);
+    }
+
+    /**
+     * Get the columns returned by the scan. They are known once {@link #hasNext()} has been called.
+     *
+     * @return The list of column definitions.
+     */
+    public List<ColumnDefinitions.Definition> getColumnDefinitions() {
+        return definitions;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!closed && returned < limit) {
+            if (current != null && current.getAvailableWithoutFetching() > 0) {
+                return true;
+            }
+            current = nextRange();
+            if (current == null) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Row next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        prefetch(current);
+        returned++;
+        Row row = current.one();
+        if (returned == limit) {
+            close();
+        }
+        return row;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("A token range scan is read only");
+    }
+
+    /**
+     * Stop the scan, cancelling the requests in flight.
+     */
+    public void close() {
+        closed = true;
+        pending.clear();
+        ResultSetFuture future = inFlight.poll();
+        while (future != null) {
+            future.cancel(true);
+            future = inFlight.poll();
+        }
+    }
+
+    /**
+     * Get a range being read with rows available, waiting for the least recently read one if none has. The ranges
+     * are read in turns, so that all of them fetch their next page while the others are read, the finished ranges
+     * are replaced by pending ones and the ranges with few buffered rows fetch their next page.
+     *
+     * @return The rows of the range or null if all the ranges have been read.
+     */
+    private ResultSet nextRange() {
+        while (!closed) {
+            request();
+            if (inFlight.isEmpty()) {
+                return null;
+            }
+            ResultSetFuture ready = null;
+            Iterator<ResultSetFuture> iterator = inFlight.iterator();
+            while (iterator.hasNext()) {
+                ResultSetFuture future = iterator.next();
+                if (!future.isDone()) {
+                    continue;
+                }
+                ResultSet rows = future.getUninterruptibly();
+                definitions = rows.getColumnDefinitions().asList();
+                if (rows.getAvailableWithoutFetching() == 0 && rows.isFullyFetched()) {
+                    iterator.remove();
+                    continue;
+                }
+                prefetch(rows);
+                if (ready == null && rows.getAvailableWithoutFetching() > 0) {
+                    ready = future;
+                }
+            }
+            if (ready != null) {
+                inFlight.remove(ready);
+                inFlight.add(ready);
+                return ready.getUninterruptibly();
+            }
+            ResultSetFuture first = inFlight.peek();
+            if (first != null && first.getUninterruptibly().isExhausted()) {
+                //Waiting for the next page of the range ended it
+                inFlight.remove(first);
+            }
+        }
+        return null;
+    }
+
+    private void prefetch(ResultSet rows) {
+        if (rows.getAvailableWithoutFetching() <= fetchSize / 2 && !rows.isFullyFetched()) {
+            rows.fetchMoreResults();
+        }
+    }
+
+    private void request() {
+        while (inFlight.size() < parallelism && !pending.isEmpty()) {
+            TokenRange range = pending.poll();
+            BoundStatement statement;
+            if (range.getEnd().compareTo(range.getStart()) <= 0) {
+                //The range ends at the minimum token
+                statement = openEnded.bind().setToken(0, range.getStart());
+            } else {
+                statement = bounded.bind().setToken(0, range.getStart()).setToken(1, range.getEnd());
+            }
+            statement.setFetchSize(fetchSize);
+            statement.setIdempotent(true);
+            if (consistency != null) {
+                statement.setConsistencyLevel(consistency);
+            }
+            inFlight.add(session.executeAsync(statement));
+        }
+    }
+}
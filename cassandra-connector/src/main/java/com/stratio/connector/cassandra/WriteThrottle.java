@@ -0,0 +1,216 @@
+/*
+ * Licensed to STRATIO (C) under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  The STRATIO (C) licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.stratio.connector.cassandra;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.log4j.Logger;
+
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.exceptions.WriteTimeoutException;
+import com.google.common.util.concurrent.RateLimiter;
+import com.stratio.connector.cassandra.utils.Utils;
+
+/**
+ * Token buckets that pace the writes of a cluster in rows and bytes per second. In adaptive mode the rates are
+ * halved when a write times out or is slower than the latency threshold, and they recover gradually while the
+ * writes are fast again. The rates are adjusted at most once per second so that a burst of slow writes only cuts
+ * the rate once.
+ */
+public final class WriteThrottle {
+
+    /**
+     * Class logger.
+     */
+    private static final Logger LOG = Logger.getLogger(WriteThrottle.class);
+
+    /**
+     * Default latency in milliseconds above which a write slows the adaptive throttle down.
+     */
+    public static final long DEFAULT_LATENCY_THRESHOLD = 500;
+
+    private static final double MIN_FACTOR = 0.05;
+    private static final double DECREASE_FACTOR = 0.5;
+    private static final double INCREASE_STEP = 0.05;
+    private static final long ADJUSTMENT_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * The throttles of the sessions whose writes are paced.
+     */
+    private static final ConcurrentMap<Session, WriteThrottle> THROTTLES = new ConcurrentHashMap<>();
+
+    private final double rowsPerSecond;
+    private final double bytesPerSecond;
+    private final RateLimiter rowsLimiter;
+    private final RateLimiter bytesLimiter;
+    private final boolean adaptive;
+    private final long latencyThreshold;
+    private double factor = 1;
+    private long lastAdjustment = System.nanoTime();
+    private long lastSlowDown = lastAdjustment - ADJUSTMENT_INTERVAL;
+
+    /**
+     * Class constructor.
+     *
+     * @param rowsPerSecond    The maximum number of rows written per second, 0 for no limit.
+     * @param bytesPerSecond   The maximum number of bytes written per second, 0 for no limit.
+     * @param adaptive         Whether the rates are adjusted to the timeouts and latency of the writes.
+     * @param latencyThreshold The latency in milliseconds above which a write slows the adaptive throttle down.
+     */
+    public WriteThrottle(double rowsPerSecond, double bytesPerSecond, boolean adaptive, long latencyThreshold) {
+        this.rowsPerSecond = rowsPerSecond;
+        this.bytesPerSecond = bytesPerSecond;
+        this.rowsLimiter = rowsPerSecond > 0 ? RateLimiter.create(rowsPerSecond) : null;
+        this.bytesLimiter = bytesPerSecond > 0 ? RateLimiter.create(bytesPerSecond) : null;
+        this.adaptive = adaptive;
+        this.latencyThreshold = TimeUnit.MILLISECONDS.toNanos(latencyThreshold);
+    }
+
+    /**
+     * Configure the throttle of the writes of a session from the connector properties of its cluster:
+     * WriteRowsPerSecond, WriteBytesPerSecond, WriteAdaptiveThrottle and WriteLatencyThreshold. The writes are not
+     * paced if neither rate is defined.
+     *
+     * @param session    Cassandra datastax java driver session.
+     * @param properties The connector properties of the cluster.
+     */
+    public static void configure(Session session, List<Pair<String, String>> properties) {
+        long rowsPerSecond = Utils.getLongProperty(properties, "WriteRowsPerSecond", 0);
+        long bytesPerSecond = Utils.getLongProperty(properties, "WriteBytesPerSecond", 0);
+        if (rowsPerSecond <= 0 && bytesPerSecond <= 0) {
+            THROTTLES.remove(session);
+            return;
+        }
+        boolean adaptive = Utils.getBooleanProperty(properties, "WriteAdaptiveThrottle", false);
+        long latencyThreshold = Utils.getLongProperty(properties, "WriteLatencyThreshold", DEFAULT_LATENCY_THRESHOLD);
+        THROTTLES.put(session, new WriteThrottle(rowsPerSecond, bytesPerSecond, adaptive, latencyThreshold));
+        LOG.info("Writes limited to " + rowsPerSecond + " rows/s and " + bytesPerSecond + " bytes/s"
+                + (adaptive ? ", adaptive" : ""));
+    }
+
+    /**
+     * Get the throttle of the writes of a session.
+     *
+     * @param session Cassandra datastax java driver session.
+     * @return The {@link com.stratio.connector.cassandra.WriteThrottle} or null if the writes are not paced.
+     */
+    public static WriteThrottle forSession(Session session) {
+        return THROTTLES.get(session);
+    }
+
+    /**
+     * Remove the throttle of a session. It must be called when the session is closed.
+     *
+     * @param session Cassandra datastax java driver session.
+     */
+    public static void release(Session session) {
+        THROTTLES.remove(session);
+    }
+
+    /**
+     * Wait until a write can be sent without exceeding the rates.
+     *
+     * @param rows  The number of rows of the write.
+     * @param bytes The size of the write in bytes.
+     */
+    public void acquire(int rows, int bytes) {
+        if (rowsLimiter != null && rows > 0) {
+            rowsLimiter.acquire(rows);
+        }
+        if (bytesLimiter != null && bytes > 0) {
+            bytesLimiter.acquire(bytes);
+        }
+    }
+
+    /**
+     * Notify that a write has succeeded.
+     *
+     * @param latency The latency of the write in nanoseconds.
+     */
+    public void onSuccess(long latency) {
+        if (adaptive) {
+            adjust(latency > latencyThreshold);
+        }
+    }
+
+    /**
+     * Notify that a write has failed. Only the write timeouts slow the throttle down.
+     *
+     * @param t The error of the write.
+     */
+    public void onFailure(Throwable t) {
+        if (!adaptive) {
+            return;
+        }
+        for (Throwable cause = t; cause != null; cause = cause.getCause()) {
+            if (cause instanceof WriteTimeoutException) {
+                adjust(true);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Get the fraction of the configured rates currently allowed.
+     *
+     * @return A number between 0 and 1.
+     */
+    public synchronized double getFactor() {
+        return factor;
+    }
+
+    private void adjust(boolean slowDown) {
+        adjust(slowDown, System.nanoTime());
+    }
+
+    /**
+     * Slow the throttle down, unless it has been slowed down less than a second ago, or let it recover, unless it
+     * has been adjusted less than a second ago. A recent recovery step does not delay a slowdown.
+     *
+     * @param slowDown Whether the rates are cut or increased.
+     * @param now      The current value of {@link System#nanoTime()}.
+     */
+    synchronized void adjust(boolean slowDown, long now) {
+        if (now - (slowDown ? lastSlowDown : lastAdjustment) < ADJUSTMENT_INTERVAL) {
+            return;
+        }
+        double newFactor = slowDown ? Math.max(MIN_FACTOR, factor * DECREASE_FACTOR)
+                : Math.min(1, factor + INCREASE_STEP);
+        if (newFactor == factor) {
+            return;
+        }
+        if (slowDown) {
+            lastSlowDown = now;
+            LOG.warn("Cassandra is overloaded, writes limited to " + Math.round(newFactor * 100)
+                    + "% of the configured rates");
+        }
+        factor = newFactor;
+        lastAdjustment = now;
+        if (rowsLimiter != null) {
+            rowsLimiter.setRate(rowsPerSecond * factor);
+        }
+        if (bytesLimiter != null) {
+            bytesLimiter.setRate(bytesPerSecond * factor);
+        }
+    }
+}
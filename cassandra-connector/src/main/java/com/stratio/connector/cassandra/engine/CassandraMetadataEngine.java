@@ -18,11 +18,14 @@
 
 package com.stratio.connector.cassandra.engine;
 
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.apache.commons.lang3.tuple.Pair;
+
 import com.datastax.driver.core.Session;
 import com.stratio.connector.cassandra.CassandraExecutor;
 import com.stratio.connector.cassandra.statements.AlterCatalogStatement;
@@ -33,14 +36,18 @@ import com.stratio.connector.cassandra.statements.CreateTableStatement;
 import com.stratio.connector.cassandra.statements.DropCatalogStatement;
 import com.stratio.connector.cassandra.statements.DropIndexStatement;
 import com.stratio.connector.cassandra.statements.DropTableStatement;
+import com.stratio.connector.cassandra.utils.CatalogMetadataCache;
+import com.stratio.connector.cassandra.utils.LuceneSchemaCache;
+import com.stratio.connector.cassandra.utils.PreparedStatementCache;
+import com.stratio.connector.cassandra.utils.TableDescriptorCache;
 import com.stratio.connector.cassandra.utils.Utils;
 import com.stratio.crossdata.common.connector.IMetadataEngine;
 import com.stratio.crossdata.common.data.AlterOptions;
 import com.stratio.crossdata.common.data.CatalogName;
 import com.stratio.crossdata.common.data.ClusterName;
-import com.stratio.crossdata.common.data.ColumnName;
 import com.stratio.crossdata.common.data.TableName;
 import com.stratio.crossdata.common.exceptions.ConnectorException;
+import com.stratio.crossdata.common.exceptions.ExecutionException;
 import com.stratio.crossdata.common.metadata.CatalogMetadata;
 import com.stratio.crossdata.common.metadata.ColumnType;
 import com.stratio.crossdata.common.metadata.IndexMetadata;
@@ -54,9 +61,6 @@ import com.stratio.crossdata.common.statements.structures.StringSelector;
  */
 public class CassandraMetadataEngine implements IMetadataEngine {
 
-    private static final int PRIMARY_SINGLE = 1;
-    private static final int PRIMARY_COMPOSED = 2;
-    private static final int PRIMARY_AND_CLUSTERING_SPECIFIED = 3;
     private static Set<String> validTableOptions = new HashSet<>();
 
     static {
@@ -75,8 +79,8 @@ public class CassandraMetadataEngine implements IMetadataEngine {
         validTableOptions.add("populate_io_cache_on_flush");
     }
 
-    private Map<String, Session> sessions;
-    private Session session = null;
+    private final Map<String, Session> sessions;
+    private final Map<String, List<Pair<String, String>>> clusterProperties;
 
     /**
      * Basic constructor.
@@ -84,7 +88,19 @@ public class CassandraMetadataEngine implements IMetadataEngine {
      * @param sessions The map of sessions that affect the queries.
      */
     public CassandraMetadataEngine(Map<String, Session> sessions) {
+        this(sessions, new HashMap<String, List<Pair<String, String>>>());
+    }
+
+    /**
+     * Constructor with the connector properties of the clusters.
+     *
+     * @param sessions   The map of sessions that affect the queries.
+     * @param properties Map with the connector properties by cluster name.
+     */
+    public CassandraMetadataEngine(Map<String, Session> sessions,
+            Map<String, List<Pair<String, String>>> properties) {
         this.sessions = sessions;
+        this.clusterProperties = properties;
     }
 
     /**
@@ -97,7 +113,7 @@ public class CassandraMetadataEngine implements IMetadataEngine {
     @Override
     public void createCatalog(ClusterName targetCluster, CatalogMetadata catalogMetadata)
             throws ConnectorException {
-        session = sessions.get(targetCluster.getName());
+        Session session = sessions.get(targetCluster.getName());
 
         String catalogName = catalogMetadata.getName().getQualifiedName();
 
@@ -116,7 +132,7 @@ public class CassandraMetadataEngine implements IMetadataEngine {
     public void alterCatalog(ClusterName targetCluster, CatalogName catalogName,
             Map<Selector, Selector> options) throws ConnectorException {
 
-        session = sessions.get(targetCluster.getName());
+        Session session = sessions.get(targetCluster.getName());
 
         String stringOptions = stringKeyspaceOptions(options);
 
@@ -164,29 +180,14 @@ public class CassandraMetadataEngine implements IMetadataEngine {
     @Override
     public void createTable(ClusterName targetCluster, TableMetadata tableMetadata)
             throws ConnectorException {
-        session = sessions.get(targetCluster.getName());
+        Session session = sessions.get(targetCluster.getName());
 
         Map<Selector, Selector> tableOptions = tableMetadata.getOptions();
-        List<ColumnName> primaryKey = tableMetadata.getPrimaryKey();
-        List<ColumnName> partitionKey = tableMetadata.getPartitionKey();
-        List<ColumnName> clusterKey = tableMetadata.getClusterKey();
-
-        int primaryKeyType;
-        if (primaryKey.size() == 1) {
-            primaryKeyType = PRIMARY_SINGLE;
-        } else {
-            if (clusterKey.isEmpty()) {
-                primaryKeyType = PRIMARY_AND_CLUSTERING_SPECIFIED;
-            } else {
-                primaryKeyType = PRIMARY_COMPOSED;
-            }
-        }
         String stringOptions = getStringOptions(tableOptions);
 
-        CreateTableStatement tableStatement =
-                new CreateTableStatement(tableMetadata, primaryKey, partitionKey, clusterKey,
-                        primaryKeyType, stringOptions, false);
+        CreateTableStatement tableStatement = new CreateTableStatement(tableMetadata, stringOptions, false);
         CassandraExecutor.execute(tableStatement.toString(), session);
+        tableChanged(session, tableMetadata.getName());
 
     }
 
@@ -200,9 +201,12 @@ public class CassandraMetadataEngine implements IMetadataEngine {
     @Override
     public void dropCatalog(ClusterName targetCluster, CatalogName name)
             throws ConnectorException {
-        session = sessions.get(targetCluster.getName());
+        Session session = sessions.get(targetCluster.getName());
         DropCatalogStatement catalogStatement = new DropCatalogStatement(name.getName(), false);
         CassandraExecutor.execute(catalogStatement.toString(), session);
+        TableDescriptorCache.forSession(session).invalidateKeyspace(name.getName());
+        LuceneSchemaCache.forSession(session).invalidateKeyspace(name.getName());
+        PreparedStatementCache.forSession(session).invalidateAll();
 
     }
 
@@ -216,9 +220,10 @@ public class CassandraMetadataEngine implements IMetadataEngine {
     @Override
     public void dropTable(ClusterName targetCluster, TableName name)
             throws ConnectorException {
-        session = sessions.get(targetCluster.getName());
+        Session session = sessions.get(targetCluster.getName());
         DropTableStatement tableStatement = new DropTableStatement(name.getQualifiedName(), false);
         CassandraExecutor.execute(tableStatement.toString(), session);
+        tableChanged(session, name);
 
     }
 
@@ -226,7 +231,7 @@ public class CassandraMetadataEngine implements IMetadataEngine {
     public void alterTable(ClusterName targetCluster, TableName name, AlterOptions alterOptions)
             throws ConnectorException {
         AlterTableStatement tableStatement;
-        session = sessions.get(targetCluster.getName());
+        Session session = sessions.get(targetCluster.getName());
         switch (alterOptions.getOption()) {
         case ALTER_COLUMN:
         case ADD_COLUMN:
@@ -244,6 +249,21 @@ public class CassandraMetadataEngine implements IMetadataEngine {
         default:
             break;
         }
+        tableChanged(session, name);
+    }
+
+    /**
+     * Discard the cached descriptor, Lucene index schemas and prepared statements of a table whose schema has been
+     * changed through the connector, which is the only notification of the change when the schema metadata of the
+     * driver is disabled. The prepared statements are not indexed by table, so all of them are discarded.
+     *
+     * @param session The session of the cluster.
+     * @param name    The name of the table.
+     */
+    private void tableChanged(Session session, TableName name) {
+        TableDescriptorCache.forSession(session).invalidate(name.getCatalogName().getName(), name.getName());
+        LuceneSchemaCache.forSession(session).invalidateKeyspace(name.getCatalogName().getName());
+        PreparedStatementCache.forSession(session).invalidateAll();
     }
 
     /**
@@ -257,7 +277,7 @@ public class CassandraMetadataEngine implements IMetadataEngine {
     public void createIndex(ClusterName targetCluster, IndexMetadata indexMetadata)
             throws ConnectorException {
         checkIndexMetadata(indexMetadata);
-        session = sessions.get(targetCluster.getName());
+        Session session = sessions.get(targetCluster.getName());
         CreateIndexStatement indexStatement;
         try {
             indexStatement = new CreateIndexStatement(indexMetadata, true, session);
@@ -267,6 +287,7 @@ public class CassandraMetadataEngine implements IMetadataEngine {
 
         try {
             CassandraExecutor.execute(indexStatement.toString(), session);
+            tableChanged(session, indexMetadata.getName().getTableName());
         } catch (ConnectorException e) {
             if(indexMetadata.getType() == IndexType.FULL_TEXT){
                 //remove de column create for the index
@@ -275,6 +296,7 @@ public class CassandraMetadataEngine implements IMetadataEngine {
                 String remove = "ALTER TABLE " + catalog + "." + tableName + " DROP " + indexMetadata
                         .getName().getName();
                 CassandraExecutor.execute(remove, session);
+                tableChanged(session, indexMetadata.getName().getTableName());
             }
             throw e;
         }
@@ -298,7 +320,7 @@ public class CassandraMetadataEngine implements IMetadataEngine {
     public void dropIndex(ClusterName targetCluster, IndexMetadata indexMetadata)
             throws ConnectorException {
         String remove;
-        session = sessions.get(targetCluster.getName());
+        Session session = sessions.get(targetCluster.getName());
         DropIndexStatement indexStatement = new DropIndexStatement(indexMetadata, false);
 
         //remove de column create for the index and automatically delete the index too
@@ -316,26 +338,60 @@ public class CassandraMetadataEngine implements IMetadataEngine {
             CassandraExecutor.execute(remove, session);
             //CassandraExecutor.execute(removeColumn, session);
         }
+        tableChanged(session, indexMetadata.getName().getTableName());
 
     }
 
     @Override
     public List<CatalogMetadata> provideMetadata(ClusterName clusterName) throws ConnectorException {
-        session = sessions.get(clusterName.getName());
-        return CassandraExecutor.getKeyspaces(session, clusterName.getName());
+        Session session = sessions.get(clusterName.getName());
+        checkSchemaMetadata(clusterName, session);
+        return CassandraExecutor.getKeyspaces(session, clusterName.getName(), getCatalogCache(clusterName, session));
     }
 
     @Override
     public CatalogMetadata provideCatalogMetadata(ClusterName clusterName, CatalogName catalogName)
             throws ConnectorException {
-        session = sessions.get(clusterName.getName());
-        return CassandraExecutor.getKeyspacesByName(session, catalogName, clusterName.getName());
+        Session session = sessions.get(clusterName.getName());
+        checkSchemaMetadata(clusterName, session);
+        return CassandraExecutor.getKeyspacesByName(session, catalogName, clusterName.getName(),
+                getCatalogCache(clusterName, session));
+    }
+
+    /**
+     * Check that the metadata of a cluster can be imported, which needs the schema metadata of the driver.
+     *
+     * @param clusterName The name of the cluster.
+     * @param session     The session of the cluster.
+     * @throws ExecutionException If the schema metadata of the driver is disabled by the LightweightConnect property.
+     */
+    private void checkSchemaMetadata(ClusterName clusterName, Session session) throws ExecutionException {
+        if (!Utils.isSchemaMetadataEnabled(session)) {
+            throw new ExecutionException("The metadata of the cluster " + clusterName.getName()
+                    + " cannot be imported: LightweightConnect disables the schema metadata of the driver");
+        }
+    }
+
+    /**
+     * Get the cache of converted catalogs of a cluster if its IncrementalMetadata property is enabled.
+     *
+     * @param clusterName The name of the cluster.
+     * @param session     The session of the cluster.
+     * @return The {@link com.stratio.connector.cassandra.utils.CatalogMetadataCache} or null if every keyspace must
+     * be converted.
+     */
+    private CatalogMetadataCache getCatalogCache(ClusterName clusterName, Session session) {
+        if (Utils.getBooleanProperty(clusterProperties.get(clusterName.getName()), "IncrementalMetadata", false)) {
+            return CatalogMetadataCache.forSession(session);
+        }
+        return null;
     }
 
     @Override
     public TableMetadata provideTableMetadata(ClusterName clusterName, TableName tableName)
             throws ConnectorException {
-        session = sessions.get(clusterName.getName());
+        Session session = sessions.get(clusterName.getName());
+        checkSchemaMetadata(clusterName, session);
         return CassandraExecutor.getTablesByTableName(session, tableName, clusterName.getName());
     }
 
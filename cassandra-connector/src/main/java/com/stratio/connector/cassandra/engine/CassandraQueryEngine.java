@@ -18,19 +18,28 @@
 
 package com.stratio.connector.cassandra.engine;
 
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Map;
 
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.log4j.Logger;
 
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.ProtocolVersion;
 import com.datastax.driver.core.Session;
+import com.datastax.driver.core.SimpleStatement;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.exceptions.DriverException;
 import com.stratio.connector.cassandra.CassandraExecutor;
+import com.stratio.connector.cassandra.TokenRangeScan;
 import com.stratio.connector.cassandra.statements.SelectStatement;
+import com.stratio.connector.cassandra.utils.Utils;
 import com.stratio.crossdata.common.connector.IQueryEngine;
 import com.stratio.crossdata.common.connector.IResultHandler;
 import com.stratio.crossdata.common.exceptions.ConnectorException;
+import com.stratio.crossdata.common.exceptions.CriticalExecutionException;
 import com.stratio.crossdata.common.exceptions.ExecutionException;
-import com.stratio.crossdata.common.exceptions.UnsupportedException;
 import com.stratio.crossdata.common.logicalplan.LogicalWorkflow;
 import com.stratio.crossdata.common.result.QueryResult;
 import com.stratio.crossdata.common.result.Result;
@@ -39,10 +48,16 @@ import com.stratio.crossdata.common.result.Result;
  * Class CassandraQueryEngine: Allow to make select queries with the connector.
  */
 public class CassandraQueryEngine implements IQueryEngine {
+
+    /**
+     * Class logger.
+     */
+    private static final Logger LOG = Logger.getLogger(CassandraQueryEngine.class);
+
     private static final int DEFAULT_LIMIT = 10000;
-    private int limit = DEFAULT_LIMIT;
-    private Map<String, Session> sessions;
-    Map<String,List<Pair<String,String>>> clusterProperties;
+    private final int limit = DEFAULT_LIMIT;
+    private final Map<String, Session> sessions;
+    private final Map<String,List<Pair<String,String>>> clusterProperties;
 
     /**
      * Basic constructor.
@@ -60,11 +75,17 @@ public class CassandraQueryEngine implements IQueryEngine {
             throws ConnectorException {
 
         SelectStatement ss = new SelectStatement(workflow, limit, sessions, clusterProperties);
-        String query = ss.parseQuery();
 
         Result result;
         if (ss.getSession() != null) {
-            result = CassandraExecutor.execute(query, ss.getAliasColumns(), ss.getSession());
+            long memoryBudget = getMemoryBudget(ss);
+            TokenRangeScan scan = getTokenRangeScan(ss, TokenRangeScan.DEFAULT_FETCH_SIZE);
+            if (scan != null) {
+                result = CassandraExecutor.execute(scan, ss.getAliasColumns(), memoryBudget);
+            } else {
+                result = CassandraExecutor.execute(getStatement(ss), ss.getAliasColumns(), ss.getSession(),
+                        memoryBudget);
+            }
         } else {
             throw new ExecutionException("No session to cluster established");
         }
@@ -77,11 +98,11 @@ public class CassandraQueryEngine implements IQueryEngine {
             IResultHandler resultHandler) throws ConnectorException {
 
         SelectStatement ss = new SelectStatement(workflow, limit, sessions, clusterProperties);
-        String query = ss.parseQuery();
 
         if (ss.getSession() != null) {
 
-            CassandraExecutor.asyncExecute(query, ss.getAliasColumns(), ss.getSession(), queryId, resultHandler);
+            CassandraExecutor.asyncExecute(getStatement(ss), ss.getAliasColumns(), ss.getSession(), queryId,
+                    resultHandler, getMemoryBudget(ss));
 
         } else {
             throw new ExecutionException("No session to cluster established");
@@ -93,12 +114,21 @@ public class CassandraQueryEngine implements IQueryEngine {
             int pageSize) throws ConnectorException {
 
         SelectStatement ss = new SelectStatement(workflow, limit, sessions, clusterProperties);
-        String query = ss.parseQuery();
 
         if (ss.getSession() != null) {
 
-            CassandraExecutor.asyncExecutePaging(query, ss.getAliasColumns(), ss.getSession(), queryId, resultHandler,
-                    pageSize);
+            int prefetchThreshold = Utils.getIntProperty(ss.getClusterOptions(), "PrefetchThreshold",
+                    CassandraExecutor.DEFAULT_PREFETCH_THRESHOLD);
+            int maxBufferedPages = Utils.getIntProperty(ss.getClusterOptions(), "MaxBufferedPages",
+                    CassandraExecutor.DEFAULT_MAX_BUFFERED_PAGES);
+            TokenRangeScan scan = getTokenRangeScan(ss, pageSize);
+            if (scan != null) {
+                CassandraExecutor.asyncExecutePaging(scan, ss.getAliasColumns(), ss.getSession(), queryId,
+                        resultHandler, pageSize, maxBufferedPages);
+            } else {
+                CassandraExecutor.asyncExecutePaging(getStatement(ss), ss.getAliasColumns(), ss.getSession(),
+                        queryId, resultHandler, pageSize, prefetchThreshold, maxBufferedPages);
+            }
 
         } else {
             throw new ExecutionException("No session to cluster established");
@@ -108,7 +138,84 @@ public class CassandraQueryEngine implements IQueryEngine {
 
     @Override
     public void stop(String queryId) throws ConnectorException {
-        throw new UnsupportedException("Stop for Async execute not supported yet.");
+        if (!CassandraExecutor.stop(queryId)) {
+            LOG.debug("Query " + queryId + " is not in flight, nothing to stop");
+        }
+    }
+
+    /**
+     * Get the statement of a select. Selects whose values can all be bound use a cached prepared statement, the
+     * rest are sent as simple statements with the values that could be bound as their parameters, so the query is
+     * built only once.
+     *
+     * @param ss The {@link com.stratio.connector.cassandra.statements.SelectStatement}.
+     * @return The {@link com.datastax.driver.core.Statement} to execute.
+     * @throws ConnectorException If the statement cannot be prepared.
+     */
+    private Statement getStatement(SelectStatement ss) throws ConnectorException {
+        String template = ss.parseQueryTemplate();
+        List<Object> values = ss.getBindValues();
+        Statement statement;
+        if (ss.isPreparable()) {
+            statement = CassandraExecutor.prepare(template, values, ss.getSession());
+        } else {
+            SimpleStatement simpleStatement;
+            if (values.isEmpty()) {
+                simpleStatement = new SimpleStatement(template);
+            } else if (Utils.getProtocolVersion(ss.getSession()) != ProtocolVersion.V1) {
+                simpleStatement = new SimpleStatement(template, values.toArray());
+            } else {
+                //The version 1 of the protocol does not support values in simple statements
+                simpleStatement = new SimpleStatement(ss.parseQuery());
+            }
+            ByteBuffer[] routingKey = ss.getRoutingKey();
+            if (routingKey != null) {
+                simpleStatement.setKeyspace(Utils.toCaseSensitive(ss.getCatalog())).setRoutingKey(routingKey);
+            }
+            statement = simpleStatement;
+        }
+        ConsistencyLevel consistency = Utils.getConsistencyProperty(ss.getClusterOptions(), "ReadConsistency");
+        if (consistency != null) {
+            statement.setConsistencyLevel(consistency);
+        }
+        return statement.setIdempotent(true);
+    }
+
+    /**
+     * Get the maximum number of bytes of the result of a select that is not paged.
+     *
+     * @param ss The {@link com.stratio.connector.cassandra.statements.SelectStatement}.
+     * @return The memory budget of the cluster of the select, 0 for no limit.
+     */
+    private long getMemoryBudget(SelectStatement ss) {
+        return Utils.getLongProperty(ss.getClusterOptions(), "QueryMemoryBudget",
+                CassandraExecutor.DEFAULT_MEMORY_BUDGET);
+    }
+
+    /**
+     * Get the token range scan of a select that reads a whole table, when the cluster has a scan parallelism
+     * greater than one.
+     *
+     * @param ss        The {@link com.stratio.connector.cassandra.statements.SelectStatement}.
+     * @param fetchSize The number of rows of each page of the scan.
+     * @return The {@link com.stratio.connector.cassandra.TokenRangeScan} or null if the select is executed as a
+     * single query.
+     * @throws ConnectorException If the statements of the scan cannot be prepared.
+     */
+    private TokenRangeScan getTokenRangeScan(SelectStatement ss, int fetchSize) throws ConnectorException {
+        int parallelism = Utils.getIntProperty(ss.getClusterOptions(), "ScanParallelism",
+                TokenRangeScan.DEFAULT_PARALLELISM);
+        //The token ranges are not known without the schema metadata of the driver
+        if (parallelism <= 1 || !Utils.isSchemaMetadataEnabled(ss.getSession()) || !ss.isTokenRangeScannable()) {
+            return null;
+        }
+        try {
+            return TokenRangeScan.create(ss.getSession(), Utils.toCaseSensitive(ss.getCatalog()),
+                    ss.parseTokenRangeTemplate(true), ss.parseTokenRangeTemplate(false), parallelism,
+                    ss.getLimit(), fetchSize, Utils.getConsistencyProperty(ss.getClusterOptions(), "ReadConsistency"));
+        } catch (DriverException dex) {
+            throw new CriticalExecutionException(dex.getMessage(), dex);
+        }
     }
 
 }
@@ -18,26 +18,49 @@
 
 package com.stratio.connector.cassandra.engine;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.apache.commons.lang3.tuple.Pair;
+
+import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.RegularStatement;
 import com.datastax.driver.core.Session;
+import com.datastax.driver.core.SimpleStatement;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.exceptions.DriverException;
+import com.datastax.driver.core.exceptions.InvalidTypeException;
+import com.stratio.connector.cassandra.AsyncWriteWindow;
 import com.stratio.connector.cassandra.CassandraExecutor;
+import com.stratio.connector.cassandra.WriteThrottle;
 import com.stratio.connector.cassandra.statements.DeleteStatement;
 import com.stratio.connector.cassandra.statements.InsertIntoStatement;
 import com.stratio.connector.cassandra.statements.TruncateStatement;
 import com.stratio.connector.cassandra.statements.UpdateTableStatement;
 import com.stratio.connector.cassandra.utils.ColumnInsertCassandra;
+import com.stratio.connector.cassandra.utils.PreparedStatementCache;
+import com.stratio.connector.cassandra.utils.TableDescriptor;
+import com.stratio.connector.cassandra.utils.TableDescriptorCache;
+import com.stratio.connector.cassandra.utils.Utils;
 import com.stratio.crossdata.common.connector.IStorageEngine;
+import com.stratio.crossdata.common.data.Cell;
 import com.stratio.crossdata.common.data.ClusterName;
 import com.stratio.crossdata.common.data.ColumnName;
 import com.stratio.crossdata.common.data.Row;
 import com.stratio.crossdata.common.data.TableName;
 import com.stratio.crossdata.common.exceptions.ConnectorException;
+import com.stratio.crossdata.common.exceptions.CriticalExecutionException;
 import com.stratio.crossdata.common.exceptions.ExecutionException;
 import com.stratio.crossdata.common.logicalplan.Filter;
 import com.stratio.crossdata.common.metadata.ColumnMetadata;
@@ -45,10 +68,24 @@ import com.stratio.crossdata.common.metadata.TableMetadata;
 import com.stratio.crossdata.common.statements.structures.Relation;
 
 /**
- * Class CassandraStorageEngine: Allow to make insert queries with the connector.
+ * Class CassandraStorageEngine: Allow to make insert queries with the connector. The asynchronous inserts of a
+ * cluster share the window of its session: their errors are reported by the next write to the cluster of any storage
+ * engine, or when it is flushed or closed.
  */
-public class CassandraStorageEngine implements IStorageEngine {
-    private Map<String, Session> sessions;
+public class CassandraStorageEngine implements IStorageEngine, AutoCloseable {
+
+    /**
+     * Default maximum number of rows of a batch.
+     */
+    public static final int DEFAULT_BATCH_MAX_ROWS = 100;
+
+    /**
+     * Default maximum size in bytes of the values of a batch, the default batch_size_warn_threshold of Cassandra.
+     */
+    public static final int DEFAULT_BATCH_MAX_BYTES = 5 * 1024;
+
+    private final Map<String, Session> sessions;
+    private final Map<String, List<Pair<String, String>>> clusterProperties;
 
     /**
      * Basic Constructor.
@@ -56,11 +93,24 @@ public class CassandraStorageEngine implements IStorageEngine {
      * @param sessions Map with the sessions
      */
     public CassandraStorageEngine(Map<String, Session> sessions) {
+        this(sessions, new HashMap<String, List<Pair<String, String>>>());
+    }
+
+    /**
+     * Constructor with the connector properties of the clusters.
+     *
+     * @param sessions   Map with the sessions
+     * @param properties Map with the connector properties by cluster name.
+     */
+    public CassandraStorageEngine(Map<String, Session> sessions, Map<String, List<Pair<String, String>>> properties) {
         this.sessions = sessions;
+        this.clusterProperties = properties;
     }
 
     /**
-     * Insert method to a table.
+     * Insert method to a table. When the AsyncWrites property of the cluster is enabled the row is written
+     * asynchronously in the window of the session, and a failure is reported by the next write, flush or close
+     * against the cluster instead of by this call. The writes are paced by the throttle of the cluster, if any.
      *
      * @param targetCluster The target cluster.
      * @param targetTable   The target table.
@@ -72,12 +122,75 @@ public class CassandraStorageEngine implements IStorageEngine {
             com.stratio.crossdata.common.metadata.TableMetadata targetTable, Row row, boolean ifNotExists)
             throws ConnectorException {
         Session session = sessions.get(targetCluster.getName());
-        String query = insertBlock(row, targetTable, ifNotExists);
-        CassandraExecutor.execute(query, session);
+        List<Pair<String, String>> properties = clusterProperties.get(targetCluster.getName());
+        Statement statement = setConsistency(insertStatement(row, targetTable, ifNotExists, session), properties,
+                ifNotExists);
+        if (Utils.getBooleanProperty(properties, "AsyncWrites", false)) {
+            AsyncWriteWindow window = AsyncWriteWindow.forSession(session,
+                    Utils.getIntProperty(properties, "WriteMaxInFlight", AsyncWriteWindow.DEFAULT_MAX_IN_FLIGHT));
+            if (window.hasFailed()) {
+                window.flush();
+            }
+            window.execute(statement, 1, estimateSize(statement));
+        } else {
+            AsyncWriteWindow.flush(session);
+            WriteThrottle throttle = WriteThrottle.forSession(session);
+            if (throttle == null) {
+                CassandraExecutor.execute(statement, session);
+                return;
+            }
+            throttle.acquire(1, estimateSize(statement));
+            long start = System.nanoTime();
+            try {
+                CassandraExecutor.execute(statement, session);
+            } catch (ConnectorException ce) {
+                throttle.onFailure(ce);
+                throw ce;
+            }
+            throttle.onSuccess(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Wait for the asynchronous inserts in flight to a cluster.
+     *
+     * @param targetCluster The target cluster.
+     * @throws ConnectorException If an asynchronous insert to the cluster has failed since the last flush.
+     */
+    public void flush(ClusterName targetCluster) throws ConnectorException {
+        Session session = sessions.get(targetCluster.getName());
+        if (session != null) {
+            AsyncWriteWindow.flush(session);
+        }
+    }
+
+    /**
+     * Wait for the asynchronous inserts in flight to all the clusters.
+     *
+     * @throws ConnectorException If an asynchronous insert has failed since the last flush.
+     */
+    @Override
+    public void close() throws ConnectorException {
+        ConnectorException error = null;
+        for (Session session : sessions.values()) {
+            try {
+                AsyncWriteWindow.flush(session);
+            } catch (ConnectorException ce) {
+                if (error == null) {
+                    error = ce;
+                }
+            }
+        }
+        if (error != null) {
+            throw error;
+        }
     }
 
     /**
-     * Multiple insertion in a table.
+     * Multiple insertion in a table. The rows are grouped by partition and each group is written as unlogged
+     * batches limited in rows and size of the values. The batches are executed concurrently up to a maximum in flight
+     * and paced by the throttle of the cluster, if any.
+     * The asynchronous single-row inserts in flight of this engine are flushed first.
      *
      * @param targetCluster The target cluster.
      * @param targetTable   The target table.
@@ -88,63 +201,358 @@ public class CassandraStorageEngine implements IStorageEngine {
     public void insert(ClusterName targetCluster, TableMetadata targetTable, Collection<Row> rows, boolean ifNotExists)
             throws ConnectorException {
         Session session = sessions.get(targetCluster.getName());
-        StringBuilder sb= new StringBuilder();
-        sb.append("BEGIN BATCH ");
+        flush(targetCluster);
+        List<Pair<String, String>> properties = clusterProperties.get(targetCluster.getName());
+        int maxRows = Utils.getIntProperty(properties, "BatchMaxRows", DEFAULT_BATCH_MAX_ROWS);
+        int maxBytes = Utils.getIntProperty(properties, "BatchMaxBytes", DEFAULT_BATCH_MAX_BYTES);
+        int maxInFlight = Utils.getIntProperty(properties, "WriteMaxInFlight", AsyncWriteWindow.DEFAULT_MAX_IN_FLIGHT);
+
+        AsyncWriteWindow window = new AsyncWriteWindow(session, maxInFlight);
+        write:
+        for (List<Statement> partition : groupByPartition(rows, targetTable, ifNotExists, session)) {
+            for (List<Statement> statements : splitBatches(partition, maxRows, maxBytes)) {
+                if (window.hasFailed()) {
+                    break write;
+                }
+                int bytes = 0;
+                for (Statement statement : statements) {
+                    bytes += estimateSize(statement);
+                }
+                if (statements.size() == 1) {
+                    window.execute(setConsistency(statements.get(0), properties, ifNotExists), 1, bytes);
+                } else {
+                    BatchStatement batch = newBatch(properties, ifNotExists);
+                    batch.addAll(statements);
+                    window.execute(setIdempotence(batch), statements.size(), bytes);
+                }
+            }
+        }
+        window.flush();
+    }
+
+    /**
+     * Split the insert statements of a partition in batches limited in rows and size of the values. A statement
+     * larger than the size limit is a batch on its own.
+     *
+     * @param partition The insert statements of a partition.
+     * @param maxRows   The maximum number of statements of a batch.
+     * @param maxBytes  The maximum size of the values of a batch.
+     * @return The statements of each batch, in order.
+     */
+    static List<List<Statement>> splitBatches(List<Statement> partition, int maxRows, int maxBytes) {
+        List<List<Statement>> batches = new ArrayList<>();
+        List<Statement> batch = new ArrayList<>();
+        int batchBytes = 0;
+        for (Statement statement : partition) {
+            int statementBytes = estimateSize(statement);
+            if (!batch.isEmpty() && (batch.size() >= maxRows || batchBytes + statementBytes > maxBytes)) {
+                batches.add(batch);
+                batch = new ArrayList<>();
+                batchBytes = 0;
+            }
+            batch.add(statement);
+            batchBytes += statementBytes;
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    /**
+     * Create an unlogged batch with the write consistency level of the cluster.
+     *
+     * @param properties  The connector properties of the cluster.
+     * @param conditional Whether the statements of the batch are lightweight transactions.
+     * @return The empty {@link com.datastax.driver.core.BatchStatement}.
+     */
+    private BatchStatement newBatch(List<Pair<String, String>> properties, boolean conditional) {
+        BatchStatement batch = new BatchStatement(BatchStatement.Type.UNLOGGED);
+        setConsistency(batch, properties, conditional);
+        return batch;
+    }
+
+    /**
+     * Set the consistency level of a write from the connector properties of its cluster: WriteConsistency, or the
+     * Consistency of the cluster if it is not defined. The lightweight transactions also get the LwtConsistency as
+     * their serial consistency level, if defined, and the SerialConsistency of the cluster otherwise.
+     *
+     * @param statement   The write.
+     * @param properties  The connector properties of the cluster.
+     * @param conditional Whether the write is a lightweight transaction.
+     * @return The same statement.
+     */
+    private Statement setConsistency(Statement statement, List<Pair<String, String>> properties,
+            boolean conditional) {
+        ConsistencyLevel consistency = Utils.getConsistencyProperty(properties, "WriteConsistency");
+        if (consistency != null) {
+            statement.setConsistencyLevel(consistency);
+        }
+        if (conditional) {
+            ConsistencyLevel serialConsistency = Utils.getSerialConsistencyProperty(properties, "LwtConsistency");
+            if (serialConsistency != null) {
+                statement.setSerialConsistencyLevel(serialConsistency);
+            }
+        }
+        return statement;
+    }
+
+    /**
+     * Mark a batch as idempotent if all its statements are, so that it may be executed speculatively.
+     *
+     * @param batch The batch.
+     * @return The same batch.
+     */
+    private BatchStatement setIdempotence(BatchStatement batch) {
+        for (Statement statement : batch.getStatements()) {
+            if (!Boolean.TRUE.equals(statement.isIdempotent())) {
+                return batch;
+            }
+        }
+        batch.setIdempotent(true);
+        return batch;
+    }
+
+    /**
+     * Get the size in bytes of a statement of a batch: the size of the bound values of a prepared statement or the
+     * length of the CQL of a plain one.
+     *
+     * @param statement The insert statement.
+     * @return The estimated size.
+     */
+    static int estimateSize(Statement statement) {
+        if (statement instanceof BoundStatement) {
+            BoundStatement boundStatement = (BoundStatement) statement;
+            int size = 0;
+            for (int i = 0; i < boundStatement.preparedStatement().getVariables().size(); i++) {
+                ByteBuffer value = boundStatement.getBytesUnsafe(i);
+                size += value == null ? 0 : value.remaining();
+            }
+            return size;
+        }
+        return ((RegularStatement) statement).getQueryString().length();
+    }
+
+    /**
+     * Group the insert statements of the rows by the values of the partition key. When the partition key is unknown
+     * every row is a group.
+     *
+     * @param rows        The rows to insert.
+     * @param targetTable The target table.
+     * @param ifNotExists Whether the IF NOT EXISTS clause is included in the statements.
+     * @param session     Cassandra datastax java driver session.
+     * @return The insert statements of each partition.
+     * @throws ConnectorException If a row has a column that does not exist or a statement cannot be prepared.
+     */
+    private Collection<List<Statement>> groupByPartition(Collection<Row> rows, TableMetadata targetTable,
+            boolean ifNotExists, Session session) throws ConnectorException {
+        List<List<Statement>> partitions = new ArrayList<>();
+        for (List<Row> partitionRows : groupRows(rows, getPartitionKey(targetTable, session))) {
+            List<Statement> partition = new ArrayList<>(partitionRows.size());
+            for (Row row : partitionRows) {
+                partition.add(insertStatement(row, targetTable, ifNotExists, session));
+            }
+            partitions.add(partition);
+        }
+        return partitions;
+    }
+
+    /**
+     * Group rows by the values of the partition key, in the order of their first row. When the partition key is
+     * unknown every row is a group.
+     *
+     * @param rows         The rows to insert.
+     * @param partitionKey The names of the columns of the partition key, empty if they are not known.
+     * @return The rows of each partition.
+     */
+    static Collection<List<Row>> groupRows(Collection<Row> rows, List<String> partitionKey) {
+        if (partitionKey.isEmpty()) {
+            List<List<Row>> unknownPartitions = new ArrayList<>(rows.size());
+            for (Row row : rows) {
+                unknownPartitions.add(Collections.singletonList(row));
+            }
+            return unknownPartitions;
+        }
+        Map<List<Object>, List<Row>> partitions = new LinkedHashMap<>();
         for (Row row : rows) {
-            String query = insertBlock(row, targetTable, ifNotExists);
-            sb.append(query).append(" ");
+            List<Object> key = new ArrayList<>(partitionKey.size());
+            for (String column : partitionKey) {
+                Cell cell = row.getCell(column);
+                key.add(cell == null ? null : cell.getValue());
+            }
+            List<Row> partition = partitions.get(key);
+            if (partition == null) {
+                partition = new ArrayList<>();
+                partitions.put(key, partition);
+            }
+            partition.add(row);
         }
-        sb.append("APPLY BATCH");
-        CassandraExecutor.execute(sb.toString(), session);
+        return partitions.values();
     }
 
-    private String insertBlock(Row row, TableMetadata targetTable, boolean ifNotExists) throws ExecutionException {
-        Set<String> keys = row.getCells().keySet();
-        Map<ColumnName, ColumnMetadata> columnsWithMetadata = targetTable.getColumns();
-        Map<String, ColumnInsertCassandra> columnsMetadata = new HashMap<>();
+    /**
+     * Get the names of the columns of the partition key of a table, from the Crossdata metadata or, if it does not
+     * include them, from the metadata of the driver.
+     *
+     * @param targetTable The target table.
+     * @param session     Cassandra datastax java driver session.
+     * @return The list of column names, empty if they are not known.
+     */
+    private List<String> getPartitionKey(TableMetadata targetTable, Session session) {
+        List<String> partitionKey = new ArrayList<>();
+        if (targetTable.getPartitionKey() != null && !targetTable.getPartitionKey().isEmpty()) {
+            for (ColumnName column : targetTable.getPartitionKey()) {
+                partitionKey.add(column.getName());
+            }
+            return partitionKey;
+        }
+        TableDescriptor table = TableDescriptorCache.forSession(session)
+                .get(targetTable.getName().getCatalogName().getName(), targetTable.getName().getName());
+        if (table != null) {
+            partitionKey.addAll(table.getPartitionKey());
+        }
+        return partitionKey;
+    }
+
+    /**
+     * Get the statement that inserts a row. The values are bound to a prepared statement of the table, the set of
+     * columns of the row and the IF NOT EXISTS clause, which is prepared once per session. The query with the values
+     * inlined is used when a value cannot be bound, e.g. a function call.
+     *
+     * @param row         The inserted row.
+     * @param targetTable The target table.
+     * @param ifNotExists Whether the IF NOT EXISTS clause is included in the statement.
+     * @param session     Cassandra datastax java driver session.
+     * @return The insert {@link com.datastax.driver.core.Statement}.
+     * @throws ConnectorException If the row has a column that does not exist or the statement cannot be prepared.
+     */
+    private Statement insertStatement(Row row, TableMetadata targetTable, boolean ifNotExists, Session session)
+            throws ConnectorException {
+        Map<String, ColumnInsertCassandra> columnsMetadata = insertColumns(row, targetTable);
+        InsertIntoStatement insertStatement = new InsertIntoStatement(targetTable, columnsMetadata, ifNotExists);
+        PreparedStatement preparedStatement;
+        try {
+            preparedStatement = PreparedStatementCache.forSession(session).get(insertStatement.toTemplate());
+        } catch (DriverException dex) {
+            throw new CriticalExecutionException(dex.getMessage(), dex);
+        }
         try {
-            for (String key : keys) {
-                ColumnName col =
-                        new ColumnName(targetTable.getName().getCatalogName().getName(),
-                                targetTable.getName().getName(), key);
-                columnsMetadata.put(key,
-                        new ColumnInsertCassandra(columnsWithMetadata.get(col).getColumnType(),
-                                row.getCell(key).toString(), key));
+            ColumnDefinitions variables = preparedStatement.getVariables();
+            Object[] values = new Object[columnsMetadata.size()];
+            int i = 0;
+            for (String column : columnsMetadata.keySet()) {
+                values[i] = Utils.toBindValue(row.getCell(column).getValue(), variables.getType(i));
+                i++;
+            }
+            //All the values are bound literals, so the insert is idempotent unless it is conditional
+            return preparedStatement.bind(values).setIdempotent(!ifNotExists);
+        } catch (IllegalArgumentException | InvalidTypeException e) {
+            SimpleStatement statement = new SimpleStatement(insertStatement.toString());
+            ByteBuffer[] routingKey = getRoutingKey(row, getPartitionKey(targetTable, session),
+                    preparedStatement.getVariables(), session);
+            if (routingKey != null) {
+                statement.setKeyspace(Utils.toCaseSensitive(targetTable.getName().getCatalogName().getName()))
+                        .setRoutingKey(routingKey);
             }
-        } catch (Exception e) {
-            throw new ExecutionException("Trying insert data in a not existing column", e);
+            return statement;
         }
+    }
 
-        InsertIntoStatement insertStatement =
-                new InsertIntoStatement(targetTable, columnsMetadata, ifNotExists);
-        return insertStatement.toString();
+    /**
+     * Get the routing key of an insert whose values are inlined, so that a token aware load balancing sends it to a
+     * replica of its partition as it does with the bound statements.
+     *
+     * @param row          The inserted row.
+     * @param partitionKey The names of the columns of the partition key.
+     * @param variables    The variables of the prepared insert, with the types of the columns.
+     * @param session      Cassandra datastax java driver session.
+     * @return The serialized values of the partition key or null if any of them cannot be serialized.
+     */
+    private ByteBuffer[] getRoutingKey(Row row, List<String> partitionKey, ColumnDefinitions variables,
+            Session session) {
+        if (partitionKey.isEmpty()) {
+            return null;
+        }
+        ByteBuffer[] routingKey = new ByteBuffer[partitionKey.size()];
+        for (int i = 0; i < routingKey.length; i++) {
+            String column = Utils.toCaseSensitive(partitionKey.get(i));
+            Cell cell = row.getCell(partitionKey.get(i));
+            if (cell == null || !variables.contains(column)) {
+                return null;
+            }
+            try {
+                Object value = Utils.toBindValue(cell.getValue(), variables.getType(column));
+                if (value == null) {
+                    return null;
+                }
+                routingKey[i] = variables.getType(column).serialize(value, Utils.getProtocolVersion(session));
+            } catch (IllegalArgumentException | InvalidTypeException e) {
+                return null;
+            }
+        }
+        return routingKey;
+    }
+
+    /**
+     * Get the columns of a row to insert, in the order of the columns of the table so that rows with the same set
+     * of columns share the same prepared statement.
+     *
+     * @param row         The inserted row.
+     * @param targetTable The target table.
+     * @return The columns by name.
+     * @throws ExecutionException If the row has a column that does not exist.
+     */
+    private Map<String, ColumnInsertCassandra> insertColumns(Row row, TableMetadata targetTable)
+            throws ExecutionException {
+        Set<String> keys = row.getCells().keySet();
+        Map<ColumnName, ColumnMetadata> columnsWithMetadata = targetTable.getColumns();
+        for (String key : keys) {
+            ColumnName col =
+                    new ColumnName(targetTable.getName().getCatalogName().getName(),
+                            targetTable.getName().getName(), key);
+            if (!columnsWithMetadata.containsKey(col)) {
+                throw new ExecutionException("Trying insert data in a not existing column");
+            }
+        }
+        Map<String, ColumnInsertCassandra> columnsMetadata = new LinkedHashMap<>();
+        for (Map.Entry<ColumnName, ColumnMetadata> column : columnsWithMetadata.entrySet()) {
+            String key = column.getKey().getName();
+            if (keys.contains(key)) {
+                columnsMetadata.put(key, new ColumnInsertCassandra(column.getValue().getColumnType(),
+                        row.getCell(key).toString(), key));
+            }
+        }
+        return columnsMetadata;
     }
 
     @Override
     public void delete(ClusterName targetCluster, TableName tableName, Collection<Filter> whereClauses)
             throws ConnectorException {
         Session session = sessions.get(targetCluster.getName());
+        flush(targetCluster);
         List<Filter> whereFilters = new ArrayList<>();
         for (Filter filter : whereClauses) {
             whereFilters.add(filter);
         }
         DeleteStatement deleteStatement = new DeleteStatement(tableName, whereFilters);
-        String query = deleteStatement.toString();
-        CassandraExecutor.execute(query, session);
+        CassandraExecutor.execute(setConsistency(new SimpleStatement(deleteStatement.toString()),
+                clusterProperties.get(targetCluster.getName()), false), session);
     }
 
     @Override
     public void update(ClusterName targetCluster, TableName tableName, Collection<Relation> assignments,
             Collection<Filter> whereClauses) throws ConnectorException {
         Session session = sessions.get(targetCluster.getName());
+        flush(targetCluster);
         UpdateTableStatement updateStatement = new UpdateTableStatement(tableName, assignments, whereClauses);
-        String query = updateStatement.toString();
-        CassandraExecutor.execute(query, session);
+        CassandraExecutor.execute(setConsistency(new SimpleStatement(updateStatement.toString()),
+                clusterProperties.get(targetCluster.getName()), false), session);
     }
 
     @Override
     public void truncate(ClusterName targetCluster, TableName tableName) throws ConnectorException {
         Session session = sessions.get(targetCluster.getName());
+        flush(targetCluster);
         TruncateStatement truncateStatement = new TruncateStatement(tableName);
         String query = truncateStatement.toString();
         CassandraExecutor.execute(query, session);
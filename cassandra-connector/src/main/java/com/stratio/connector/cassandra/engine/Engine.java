@@ -23,8 +23,19 @@ import java.util.Arrays;
 import org.apache.log4j.Logger;
 
 import com.datastax.driver.core.Cluster;
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.HostDistance;
+import com.datastax.driver.core.PoolingOptions;
+import com.datastax.driver.core.ProtocolOptions;
+import com.datastax.driver.core.ProtocolVersion;
+import com.datastax.driver.core.QueryOptions;
 import com.datastax.driver.core.Session;
+import com.datastax.driver.core.SocketOptions;
 import com.datastax.driver.core.exceptions.NoHostAvailableException;
+import com.datastax.driver.core.policies.DCAwareRoundRobinPolicy;
+import com.datastax.driver.core.policies.LatencyAwarePolicy;
+import com.datastax.driver.core.policies.LoadBalancingPolicy;
+import com.datastax.driver.core.policies.TokenAwarePolicy;
 import com.stratio.crossdata.common.exceptions.ConnectionException;
 
 /**
@@ -58,9 +69,12 @@ public class Engine {
      * @return A new Session.
      */
     private Session initializeDB(EngineConfig config) throws ConnectionException {
-        Cluster cluster = Cluster.builder()
-                .addContactPoints(config.getCassandraHosts())
-                .withPort(config.getCassandraPort()).build();
+        Cluster cluster;
+        try {
+            cluster = buildCluster(config);
+        } catch (IllegalArgumentException iae) {
+            throw new ConnectionException("Invalid connection options: " + iae.getMessage(), iae);
+        }
 
         //TODO When credential exists change cluster builder to add withCredentials method to it
 
@@ -77,6 +91,94 @@ public class Engine {
         return result;
     }
 
+    /**
+     * Build the cluster with the pooling, protocol and socket options of the configuration.
+     *
+     * @param config The {@link com.stratio.connector.cassandra.engine.EngineConfig}.
+     * @return A new Cluster, not connected yet.
+     */
+    private Cluster buildCluster(EngineConfig config) {
+        Cluster.Builder builder = Cluster.builder()
+                .addContactPoints(config.getCassandraHosts())
+                .withPort(config.getCassandraPort());
+
+        builder.withLoadBalancingPolicy(buildLoadBalancingPolicy(config));
+
+        QueryOptions queryOptions = new QueryOptions();
+        if (config.getConsistency() != null) {
+            queryOptions.setConsistencyLevel(ConsistencyLevel.valueOf(config.getConsistency().trim().toUpperCase()));
+        }
+        if (config.getSerialConsistency() != null) {
+            queryOptions.setSerialConsistencyLevel(
+                    ConsistencyLevel.valueOf(config.getSerialConsistency().trim().toUpperCase()));
+        }
+        if (config.isLightweightConnect()) {
+            queryOptions.setMetadataEnabled(false);
+        }
+        builder.withQueryOptions(queryOptions);
+
+        if (config.isSpeculativeExecution() && config.getSpeculativeExecutionMaxAttempts() > 0) {
+            builder.withSpeculativeExecutionPolicy(config.getSpeculativeExecutionPercentile() > 0
+                    ? SpeculativeReadPolicy.percentile(config.getSpeculativeExecutionPercentile(),
+                    config.getSpeculativeExecutionMaxAttempts())
+                    : SpeculativeReadPolicy.constant(config.getSpeculativeExecutionDelay(),
+                    config.getSpeculativeExecutionMaxAttempts()));
+        }
+
+        if (config.getProtocolVersion() > 0) {
+            builder.withProtocolVersion(ProtocolVersion.fromInt(config.getProtocolVersion()));
+        }
+
+        PoolingOptions poolingOptions = new PoolingOptions();
+        if (config.getCoreConnectionsPerHost() > 0 || config.getMaxConnectionsPerHost() > 0) {
+            int core = config.getCoreConnectionsPerHost() > 0 ? config.getCoreConnectionsPerHost() : 1;
+            int max = config.getMaxConnectionsPerHost() > 0 ? config.getMaxConnectionsPerHost() : core;
+            poolingOptions.setConnectionsPerHost(HostDistance.LOCAL, core, max);
+        }
+        if (config.getMaxRequestsPerConnection() > 0) {
+            poolingOptions.setMaxRequestsPerConnection(HostDistance.LOCAL, config.getMaxRequestsPerConnection());
+        }
+        builder.withPoolingOptions(poolingOptions);
+
+        SocketOptions socketOptions = new SocketOptions().setTcpNoDelay(config.isTcpNoDelay());
+        if (config.getReadTimeoutMillis() > 0) {
+            socketOptions.setReadTimeoutMillis(config.getReadTimeoutMillis());
+        }
+        builder.withSocketOptions(socketOptions);
+
+        if (config.getCompression() == null) {
+            return builder.build();
+        }
+        ProtocolOptions.Compression compression =
+                ProtocolOptions.Compression.valueOf(config.getCompression().trim().toUpperCase());
+        try {
+            return builder.withCompression(compression).build();
+        } catch (IllegalStateException ise) {
+            LOG.warn("Compression " + compression + " is not available, its library is not in the classpath");
+            return builder.withCompression(ProtocolOptions.Compression.NONE).build();
+        }
+    }
+
+    /**
+     * Build the load balancing policy: the replicas of the partition of a query in the local data center are tried
+     * first and, if the policy is latency aware, the hosts much slower than the fastest one are tried last.
+     *
+     * @param config The {@link com.stratio.connector.cassandra.engine.EngineConfig}.
+     * @return The {@link com.datastax.driver.core.policies.LoadBalancingPolicy}.
+     */
+    private LoadBalancingPolicy buildLoadBalancingPolicy(EngineConfig config) {
+        DCAwareRoundRobinPolicy dcAwarePolicy = config.getLocalDataCenter() == null ? new DCAwareRoundRobinPolicy()
+                : new DCAwareRoundRobinPolicy(config.getLocalDataCenter(), config.getUsedHostsPerRemoteDc());
+        LoadBalancingPolicy policy = new TokenAwarePolicy(dcAwarePolicy);
+        if (config.isLatencyAware()) {
+            policy = LatencyAwarePolicy.builder(policy).build();
+        }
+        LOG.info("Load balancing policy: " + (config.isLatencyAware() ? "latency aware, " : "") + "token aware, "
+                + (config.getLocalDataCenter() == null ? "local data center of the contact points"
+                : "local data center " + config.getLocalDataCenter()));
+        return policy;
+    }
+
     /**
      * Close open connections.
      */
@@ -45,6 +45,43 @@ public class EngineConfig {
     private String clusterName;
     private ICredentials credentials;
 
+    /**
+     * Driver tuning, 0 or null to keep the default of the driver.
+     */
+    private int coreConnectionsPerHost;
+    private int maxConnectionsPerHost;
+    private int maxRequestsPerConnection;
+    private int protocolVersion;
+    private int readTimeoutMillis;
+    private boolean tcpNoDelay = true;
+    private String compression;
+
+    /**
+     * Load balancing.
+     */
+    private String localDataCenter;
+    private int usedHostsPerRemoteDc;
+    private boolean latencyAware;
+
+    /**
+     * Default consistency levels.
+     */
+    private String consistency;
+    private String serialConsistency;
+
+    /**
+     * Whether the schema metadata of the driver is disabled.
+     */
+    private boolean lightweightConnect;
+
+    /**
+     * Speculative execution.
+     */
+    private boolean speculativeExecution;
+    private long speculativeExecutionDelay;
+    private double speculativeExecutionPercentile;
+    private int speculativeExecutionMaxAttempts;
+
     /**
      * Get Cassandra hosts.
      *
@@ -125,4 +162,276 @@ public class EngineConfig {
         this.credentials = credentials;
     }
 
+    /**
+     * Get the number of connections opened to each local host.
+     * @return The number of connections, 0 for the default of the driver.
+     */
+    public int getCoreConnectionsPerHost() {
+        return coreConnectionsPerHost;
+    }
+
+    /**
+     * Set the number of connections opened to each local host.
+     * @param coreConnectionsPerHost The number of connections, 0 for the default of the driver.
+     */
+    public void setCoreConnectionsPerHost(int coreConnectionsPerHost) {
+        this.coreConnectionsPerHost = coreConnectionsPerHost;
+    }
+
+    /**
+     * Get the maximum number of connections to each local host.
+     * @return The number of connections, 0 for the default of the driver.
+     */
+    public int getMaxConnectionsPerHost() {
+        return maxConnectionsPerHost;
+    }
+
+    /**
+     * Set the maximum number of connections to each local host.
+     * @param maxConnectionsPerHost The number of connections, 0 for the default of the driver.
+     */
+    public void setMaxConnectionsPerHost(int maxConnectionsPerHost) {
+        this.maxConnectionsPerHost = maxConnectionsPerHost;
+    }
+
+    /**
+     * Get the maximum number of requests in flight on each connection to a local host.
+     * @return The number of requests, 0 for the default of the driver.
+     */
+    public int getMaxRequestsPerConnection() {
+        return maxRequestsPerConnection;
+    }
+
+    /**
+     * Set the maximum number of requests in flight on each connection to a local host.
+     * @param maxRequestsPerConnection The number of requests, 0 for the default of the driver.
+     */
+    public void setMaxRequestsPerConnection(int maxRequestsPerConnection) {
+        this.maxRequestsPerConnection = maxRequestsPerConnection;
+    }
+
+    /**
+     * Get the version of the native protocol.
+     * @return The version, 0 to negotiate it with the cluster.
+     */
+    public int getProtocolVersion() {
+        return protocolVersion;
+    }
+
+    /**
+     * Set the version of the native protocol.
+     * @param protocolVersion The version, 0 to negotiate it with the cluster.
+     */
+    public void setProtocolVersion(int protocolVersion) {
+        this.protocolVersion = protocolVersion;
+    }
+
+    /**
+     * Get the time the driver waits for the response of a host.
+     * @return The timeout in milliseconds, 0 for the default of the driver.
+     */
+    public int getReadTimeoutMillis() {
+        return readTimeoutMillis;
+    }
+
+    /**
+     * Set the time the driver waits for the response of a host.
+     * @param readTimeoutMillis The timeout in milliseconds, 0 for the default of the driver.
+     */
+    public void setReadTimeoutMillis(int readTimeoutMillis) {
+        this.readTimeoutMillis = readTimeoutMillis;
+    }
+
+    /**
+     * Whether Nagle's algorithm is disabled on the connections.
+     * @return true if TCP_NODELAY is set.
+     */
+    public boolean isTcpNoDelay() {
+        return tcpNoDelay;
+    }
+
+    /**
+     * Set whether Nagle's algorithm is disabled on the connections.
+     * @param tcpNoDelay true to set TCP_NODELAY.
+     */
+    public void setTcpNoDelay(boolean tcpNoDelay) {
+        this.tcpNoDelay = tcpNoDelay;
+    }
+
+    /**
+     * Get the compression of the native protocol.
+     * @return NONE, LZ4 or SNAPPY, null for no compression.
+     */
+    public String getCompression() {
+        return compression;
+    }
+
+    /**
+     * Set the compression of the native protocol.
+     * @param compression NONE, LZ4 or SNAPPY, null for no compression.
+     */
+    public void setCompression(String compression) {
+        this.compression = compression;
+    }
+
+    /**
+     * Get the data center whose hosts coordinate the queries.
+     * @return The name of the data center, null for the data center of the contact points.
+     */
+    public String getLocalDataCenter() {
+        return localDataCenter;
+    }
+
+    /**
+     * Set the data center whose hosts coordinate the queries.
+     * @param localDataCenter The name of the data center, null for the data center of the contact points.
+     */
+    public void setLocalDataCenter(String localDataCenter) {
+        this.localDataCenter = localDataCenter;
+    }
+
+    /**
+     * Get the number of hosts of each remote data center used when no local host is available.
+     * @return The number of hosts.
+     */
+    public int getUsedHostsPerRemoteDc() {
+        return usedHostsPerRemoteDc;
+    }
+
+    /**
+     * Set the number of hosts of each remote data center used when no local host is available.
+     * @param usedHostsPerRemoteDc The number of hosts.
+     */
+    public void setUsedHostsPerRemoteDc(int usedHostsPerRemoteDc) {
+        this.usedHostsPerRemoteDc = usedHostsPerRemoteDc;
+    }
+
+    /**
+     * Whether the hosts that are much slower than the fastest one are avoided.
+     * @return true if the load balancing is latency aware.
+     */
+    public boolean isLatencyAware() {
+        return latencyAware;
+    }
+
+    /**
+     * Set whether the hosts that are much slower than the fastest one are avoided.
+     * @param latencyAware true to make the load balancing latency aware.
+     */
+    public void setLatencyAware(boolean latencyAware) {
+        this.latencyAware = latencyAware;
+    }
+
+    /**
+     * Get the default consistency level of the statements.
+     * @return The name of the consistency level, null for the default of the driver.
+     */
+    public String getConsistency() {
+        return consistency;
+    }
+
+    /**
+     * Set the default consistency level of the statements.
+     * @param consistency The name of the consistency level, null for the default of the driver.
+     */
+    public void setConsistency(String consistency) {
+        this.consistency = consistency;
+    }
+
+    /**
+     * Get the default serial consistency level of the lightweight transactions.
+     * @return The name of the consistency level, null for the default of the driver.
+     */
+    public String getSerialConsistency() {
+        return serialConsistency;
+    }
+
+    /**
+     * Set the default serial consistency level of the lightweight transactions.
+     * @param serialConsistency The name of the consistency level, null for the default of the driver.
+     */
+    public void setSerialConsistency(String serialConsistency) {
+        this.serialConsistency = serialConsistency;
+    }
+
+    /**
+     * Whether the driver connects without loading the schema of the cluster.
+     * @return true if the schema metadata of the driver is disabled.
+     */
+    public boolean isLightweightConnect() {
+        return lightweightConnect;
+    }
+
+    /**
+     * Set whether the driver connects without loading the schema of the cluster.
+     * @param lightweightConnect true to disable the schema metadata of the driver.
+     */
+    public void setLightweightConnect(boolean lightweightConnect) {
+        this.lightweightConnect = lightweightConnect;
+    }
+
+    /**
+     * Whether the idempotent statements are executed speculatively.
+     * @return true if the speculative execution is enabled.
+     */
+    public boolean isSpeculativeExecution() {
+        return speculativeExecution;
+    }
+
+    /**
+     * Set whether the idempotent statements are executed speculatively.
+     * @param speculativeExecution true to enable the speculative execution.
+     */
+    public void setSpeculativeExecution(boolean speculativeExecution) {
+        this.speculativeExecution = speculativeExecution;
+    }
+
+    /**
+     * Get the constant delay before a speculative execution.
+     * @return The delay in milliseconds.
+     */
+    public long getSpeculativeExecutionDelay() {
+        return speculativeExecutionDelay;
+    }
+
+    /**
+     * Set the constant delay before a speculative execution.
+     * @param speculativeExecutionDelay The delay in milliseconds.
+     */
+    public void setSpeculativeExecutionDelay(long speculativeExecutionDelay) {
+        this.speculativeExecutionDelay = speculativeExecutionDelay;
+    }
+
+    /**
+     * Get the percentile of the latencies used as delay before a speculative execution.
+     * @return The percentile, 0 to use the constant delay.
+     */
+    public double getSpeculativeExecutionPercentile() {
+        return speculativeExecutionPercentile;
+    }
+
+    /**
+     * Set the percentile of the latencies used as delay before a speculative execution.
+     * @param speculativeExecutionPercentile The percentile, 0 to use the constant delay.
+     */
+    public void setSpeculativeExecutionPercentile(double speculativeExecutionPercentile) {
+        this.speculativeExecutionPercentile = speculativeExecutionPercentile;
+    }
+
+    /**
+     * Get the maximum number of speculative executions of a statement.
+     * @return The number of executions besides the first one.
+     */
+    public int getSpeculativeExecutionMaxAttempts() {
+        return speculativeExecutionMaxAttempts;
+    }
+
+    /**
+     * Set the maximum number of speculative executions of a statement.
+     * @param speculativeExecutionMaxAttempts The number of executions besides the first one.
+     */
+    public void setSpeculativeExecutionMaxAttempts(int speculativeExecutionMaxAttempts) {
+        this.speculativeExecutionMaxAttempts = speculativeExecutionMaxAttempts;
+    }
+
 }
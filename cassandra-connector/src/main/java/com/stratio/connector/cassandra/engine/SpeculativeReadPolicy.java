@@ -0,0 +1,152 @@
+/*
+ * Licensed to STRATIO (C) under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  The STRATIO (C) licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.stratio.connector.cassandra.engine;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.datastax.driver.core.Cluster;
+import com.datastax.driver.core.Host;
+import com.datastax.driver.core.LatencyTracker;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.policies.SpeculativeExecutionPolicy;
+
+/**
+ * Speculative execution of the idempotent statements: when a statement has not been answered after a delay, it is
+ * also sent to the next host of the query plan and the first answer is used. The connector marks as idempotent its
+ * reads and the writes that can be safely replayed. The delay is either constant or a percentile of the latencies of
+ * the last idempotent statements, so that only the slowest ones, e.g. those waiting for a replica in a GC pause, are
+ * hedged.
+ */
+public class SpeculativeReadPolicy implements SpeculativeExecutionPolicy, LatencyTracker {
+
+    /**
+     * Default constant delay in milliseconds before a speculative execution.
+     */
+    public static final long DEFAULT_DELAY = 100;
+
+    private static final int SAMPLES = 1024;
+    private static final int MIN_SAMPLES = 100;
+    private static final int UPDATE_INTERVAL = 100;
+
+    private static final SpeculativeExecutionPlan NO_SPECULATIVE_EXECUTION = new SpeculativeExecutionPlan() {
+        @Override
+        public long nextExecution(Host lastQueried) {
+            return -1;
+        }
+    };
+
+    private final long delay;
+    private final double percentile;
+    private final int maxSpeculativeExecutions;
+    private final long[] latencies;
+    private long recorded = 0;
+    private volatile long percentileDelay = -1;
+
+    private SpeculativeReadPolicy(long delay, double percentile, int maxSpeculativeExecutions) {
+        this.delay = delay;
+        this.percentile = percentile;
+        this.maxSpeculativeExecutions = maxSpeculativeExecutions;
+        this.latencies = percentile > 0 ? new long[SAMPLES] : null;
+    }
+
+    /**
+     * Get a policy with a constant delay.
+     *
+     * @param delay                    The delay in milliseconds before each speculative execution.
+     * @param maxSpeculativeExecutions The maximum number of executions of a statement besides the first one.
+     * @return The {@link com.stratio.connector.cassandra.engine.SpeculativeReadPolicy}.
+     */
+    public static SpeculativeReadPolicy constant(long delay, int maxSpeculativeExecutions) {
+        return new SpeculativeReadPolicy(delay, 0, maxSpeculativeExecutions);
+    }
+
+    /**
+     * Get a policy whose delay is a percentile of the latencies of the last idempotent statements. There is no
+     * speculative execution until enough latencies have been recorded.
+     *
+     * @param percentile               The percentile, e.g. 99.
+     * @param maxSpeculativeExecutions The maximum number of executions of a statement besides the first one.
+     * @return The {@link com.stratio.connector.cassandra.engine.SpeculativeReadPolicy}.
+     */
+    public static SpeculativeReadPolicy percentile(double percentile, int maxSpeculativeExecutions) {
+        if (percentile <= 0 || percentile >= 100) {
+            throw new IllegalArgumentException("Invalid percentile " + percentile);
+        }
+        return new SpeculativeReadPolicy(0, percentile, maxSpeculativeExecutions);
+    }
+
+    @Override
+    public void init(Cluster cluster) {
+        if (latencies != null) {
+            cluster.register(this);
+        }
+    }
+
+    @Override
+    public SpeculativeExecutionPlan newPlan(String loggedKeyspace, Statement statement) {
+        final long executionDelay = latencies != null ? percentileDelay : delay;
+        if (executionDelay < 0 || !Boolean.TRUE.equals(statement.isIdempotent())) {
+            return NO_SPECULATIVE_EXECUTION;
+        }
+        return new SpeculativeExecutionPlan() {
+            private final AtomicInteger remaining = new AtomicInteger(maxSpeculativeExecutions);
+
+            @Override
+            public long nextExecution(Host lastQueried) {
+                return remaining.getAndDecrement() > 0 ? executionDelay : -1;
+            }
+        };
+    }
+
+    /**
+     * Get the current delay before a speculative execution.
+     *
+     * @return The delay in milliseconds, negative if it is not known yet.
+     */
+    public long getDelay() {
+        return latencies != null ? percentileDelay : delay;
+    }
+
+    @Override
+    public void update(Host host, Statement statement, Exception exception, long newLatencyNanos) {
+        if (exception != null || !Boolean.TRUE.equals(statement.isIdempotent())) {
+            return;
+        }
+        long[] sorted = null;
+        synchronized (latencies) {
+            latencies[(int) (recorded % SAMPLES)] = newLatencyNanos;
+            recorded++;
+            if (recorded >= MIN_SAMPLES && recorded % UPDATE_INTERVAL == 0) {
+                sorted = Arrays.copyOf(latencies, (int) Math.min(recorded, SAMPLES));
+            }
+        }
+        if (sorted != null) {
+            Arrays.sort(sorted);
+            int index = Math.min(sorted.length - 1, (int) Math.ceil(percentile / 100 * sorted.length) - 1);
+            percentileDelay = Math.max(1, TimeUnit.NANOSECONDS.toMillis(sorted[Math.max(0, index)]));
+        }
+    }
+
+    @Override
+    public void close() {
+        //Nothing to release
+    }
+}
@@ -125,6 +125,29 @@ public class CreateTableStatement {
         }
     }
 
+    /**
+     * Class Constructor that takes the keys of the table from its metadata.
+     * @param tableMetadata The metadata of the table.
+     * @param properties The specific properties of the table that will be created.
+     * @param ifNotExists the condition of creation of the table.
+     * @throws ExecutionException
+     */
+    public CreateTableStatement(TableMetadata tableMetadata, String properties, boolean ifNotExists)
+            throws ExecutionException {
+        this(tableMetadata, tableMetadata.getPrimaryKey(), tableMetadata.getPartitionKey(),
+                tableMetadata.getClusterKey(), getPrimaryKeyType(tableMetadata), properties, ifNotExists);
+    }
+
+    private static int getPrimaryKeyType(TableMetadata tableMetadata) {
+        if (tableMetadata.getPrimaryKey().size() == 1) {
+            return PRIMARY_SINGLE;
+        } else if (tableMetadata.getClusterKey().isEmpty()) {
+            return PRIMARY_AND_CLUSTERING_SPECIFIED;
+        } else {
+            return PRIMARY_COMPOSED;
+        }
+    }
+
     /**
      * Obtain the single primary key.
      * @return a string with the primary key.
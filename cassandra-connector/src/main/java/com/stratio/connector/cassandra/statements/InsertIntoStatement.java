@@ -131,6 +131,37 @@ public class InsertIntoStatement {
         return sb.toString();
     }
 
+    /**
+     * Get the CQL of the statement with a bind marker in place of each value, in the order of the columns. The
+     * template only depends on the table, the set of columns and the IF NOT EXISTS clause, so it can be prepared once
+     * and bound to the values of every row with the same shape.
+     *
+     * @return The CQL template.
+     */
+    public String toTemplate() {
+        StringBuilder sb = new StringBuilder("INSERT INTO ");
+        if (catalogInc) {
+            sb.append(Utils.toCaseSensitive(catalog)).append(".");
+        }
+        sb.append(Utils.toCaseSensitive(tableName)).append(" (");
+        sb.append(StringUtils.stringList(ids, ", ")).append(") ");
+
+        sb.append("VALUES (");
+        for (int i = 0; i < ids.size(); i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append("?");
+        }
+        sb.append(")");
+
+        if (ifNotExists) {
+            sb.append(" IF NOT EXISTS");
+        }
+
+        return sb.toString();
+    }
+
     public String getNativeValueColumn(ColumnType type, String value) {
 
         switch(type.getDbType().toLowerCase()){
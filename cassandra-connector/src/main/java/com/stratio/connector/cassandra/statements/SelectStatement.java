@@ -17,6 +17,7 @@
  */
 package com.stratio.connector.cassandra.statements;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -25,8 +26,9 @@ import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.tuple.Pair;
 
-import com.datastax.driver.core.ColumnMetadata;
 import com.datastax.driver.core.Session;
+import com.stratio.connector.cassandra.utils.TableDescriptor;
+import com.stratio.connector.cassandra.utils.TableDescriptorCache;
 import com.stratio.connector.cassandra.utils.Utils;
 import com.stratio.crossdata.common.data.CatalogName;
 import com.stratio.crossdata.common.data.TableName;
@@ -61,6 +63,9 @@ public class SelectStatement {
     private boolean luceneIndexExist = false;
     private StringBuilder luceneIndex = new StringBuilder();
     private Session session = null;
+    private List<Pair<String, String>> clusterOptions = new ArrayList<>();
+    private List<Object> bindValues = new ArrayList<>();
+    private boolean preparable = true;
 
 
     public SelectStatement(LogicalWorkflow workflow, int limit, Map<String, Session> sessions, Map<String,List<Pair<String,String>>> clusterProperties){
@@ -83,6 +88,7 @@ public class SelectStatement {
 
             //Get the limit from the properties of the cluster defined by the connector.
             List<Pair<String,String>> propertiesList=clusterProperties.get(project.getClusterName().getName());
+            clusterOptions = propertiesList;
             for(Pair<String,String> props:propertiesList){
                 if (props.getLeft().equals("DefaultLimit")){
                     limit=Integer.parseInt(props.getRight());
@@ -127,16 +133,26 @@ public class SelectStatement {
      * @return java.lang.String with the Cassandra query.
      */
     public String parseQuery() {
-        StringBuilder sb = new StringBuilder("SELECT ");
-        if (aliasColumns != null && !aliasColumns.isEmpty()) {
-            sb.append(getAliasClause());
-        } else {
-            sb.append(" * ");
-        }
-        sb.append(getFromClause());
+        return buildQuery(false);
+    }
+
+    /**
+     * Method that convert a query to a cassandra template where the values of the simple relations are replaced
+     * by bind markers. The values are available through {@link #getBindValues()} once the template is built.
+     *
+     * @return java.lang.String with the Cassandra query template.
+     */
+    public String parseQueryTemplate() {
+        return buildQuery(true);
+    }
+
+    private String buildQuery(boolean bind) {
+        bindValues = new ArrayList<>();
+        preparable = true;
+        StringBuilder sb = getSelectFromClause();
 
         if (whereInc) {
-            sb.append(getWhereClause());
+            sb.append(getWhereClause(bind));
         }
 
         if (!orderByColumns.isEmpty()) {
@@ -149,6 +165,96 @@ public class SelectStatement {
         return sb.toString().replace("  ", " ");
     }
 
+    /**
+     * Whether the query reads the whole table and can be split in token ranges executed in parallel: it has no
+     * filters, ordering or functions.
+     *
+     * @return true if the query can be executed as a token range scan.
+     */
+    public boolean isTokenRangeScannable() {
+        return !whereInc && orderByColumns.isEmpty() && functions.isEmpty() && catalogInc
+                && getTableDescriptor() != null;
+    }
+
+    /**
+     * Method that convert a query to a cassandra template that reads a token range of the table. The start of the
+     * range is the first bind marker and, if there is an upper bound, its end is the second one.
+     *
+     * @param upperBound Whether the range has an upper bound.
+     * @return java.lang.String with the Cassandra query template.
+     */
+    public String parseTokenRangeTemplate(boolean upperBound) {
+        StringBuilder sb = getSelectFromClause();
+        String token = getTokenFunction();
+        sb.append(" WHERE ").append(token).append(" > ?");
+        if (upperBound) {
+            sb.append(" AND ").append(token).append(" <= ?");
+        }
+        sb.append(" LIMIT ").append(limit);
+        return sb.toString().replace("  ", " ");
+    }
+
+    private StringBuilder getSelectFromClause() {
+        StringBuilder sb = new StringBuilder("SELECT ");
+        if (aliasColumns != null && !aliasColumns.isEmpty()) {
+            sb.append(getAliasClause());
+        } else {
+            sb.append(" * ");
+        }
+        sb.append(getFromClause());
+        return sb;
+    }
+
+    private String getTokenFunction() {
+        StringBuilder sb = new StringBuilder("token(");
+        int count = 0;
+        for (String column : getTableDescriptor().getPartitionKey()) {
+            if (count != 0) {
+                sb.append(",");
+            }
+            count = 1;
+            sb.append(Utils.toCaseSensitive(column));
+        }
+        return sb.append(")").toString();
+    }
+
+    /**
+     * Get the routing key of the query, so that a token aware load balancing sends it straight to a replica of the
+     * partition it reads. There is one only if the where clause has an equality on every column of the partition key.
+     *
+     * @return The serialized values of the partition key columns or null if the query does not read one partition.
+     */
+    public ByteBuffer[] getRoutingKey() {
+        TableDescriptor table = whereInc && catalogInc ? getTableDescriptor() : null;
+        if (table == null) {
+            return null;
+        }
+        List<String> partitionKey = table.getPartitionKey();
+        ByteBuffer[] routingKey = new ByteBuffer[partitionKey.size()];
+        for (int i = 0; i < routingKey.length; i++) {
+            String column = partitionKey.get(i);
+            for (Relation relation : where) {
+                if (relation.getOperator() == Operator.EQ && relation.getLeftTerm() instanceof ColumnSelector
+                        && column.equals(((ColumnSelector) relation.getLeftTerm()).getColumnName().getName())) {
+                    Object value = Utils.getBindValue((ColumnSelector) relation.getLeftTerm(),
+                            relation.getRightTerm(), session);
+                    if (value != null) {
+                        routingKey[i] = table.getColumnType(column).serialize(value,
+                                Utils.getProtocolVersion(session));
+                    }
+                }
+            }
+            if (routingKey[i] == null) {
+                return null;
+            }
+        }
+        return routingKey;
+    }
+
+    private TableDescriptor getTableDescriptor() {
+        return TableDescriptorCache.forSession(session).get(catalog, tableName.getName());
+    }
+
     private String getOrderByClause() {
         StringBuilder sb = new StringBuilder();
         sb.append(" ORDER BY ");
@@ -165,9 +271,11 @@ public class SelectStatement {
         return sb.toString();
     }
 
-    private String getWhereClause() {
+    private String getWhereClause(boolean bind) {
         StringBuilder sb = new StringBuilder();
         sb.append(" WHERE ");
+        luceneIndex = new StringBuilder();
+        luceneIndexExist = false;
 
         String indexName=getLuceneIndex();
         if(!indexName.equals("")){
@@ -207,13 +315,21 @@ public class SelectStatement {
                         String column = Utils.toCaseSensitive(left.getColumnName().getName());
                         sb.append(column).append(" ").append(relation.getOperator().toString()).append(" ");
                         sb.append(function.toString());
+                        preparable = false;
                     }
 
                 } else {
                     ColumnSelector left = (ColumnSelector) relation.getLeftTerm();
                     String column = Utils.toCaseSensitive(left.getColumnName().getName());
                     sb.append(column).append(" ").append(relation.getOperator().toString()).append(" ");
-                    sb.append(Utils.getFormatType(left, right, session));
+                    Object value = bind ? Utils.getBindValue(left, right, session) : null;
+                    if (value != null) {
+                        sb.append("?");
+                        bindValues.add(value);
+                    } else {
+                        sb.append(Utils.getFormatType(left, right, session));
+                        preparable = false;
+                    }
                 }
 
                 break;
@@ -224,6 +340,7 @@ public class SelectStatement {
             StringBuilder sbLucene = new StringBuilder();
             sbLucene.append(luceneIndex).append(" ]}}'");
             sb.append(sbLucene);
+            preparable = false;
 
         }
 
@@ -348,18 +465,8 @@ public class SelectStatement {
     }
 
     private String getLuceneIndex() {
-        String indexName = "";
-        List<ColumnMetadata> columns =
-                session.getCluster().getMetadata().getKeyspace(Utils.toCaseSensitive(catalog)).getTable(
-                        Utils.toCaseSensitive(tableName
-                                .getName()))
-                        .getColumns();
-        for (ColumnMetadata column : columns) {
-            if (column.getIndex() != null && column.getIndex().isCustomIndex()) {
-                indexName = Utils.toCaseSensitive(column.getName());
-            }
-        }
-        return indexName;
+        TableDescriptor descriptor = TableDescriptorCache.forSession(session).get(catalog, tableName.getName());
+        return descriptor == null ? "" : descriptor.getCustomIndexColumn();
     }
 
     private String getLuceneWhereClause(Relation relation) {
@@ -438,6 +545,24 @@ public class SelectStatement {
         return result;
     }
 
+    /**
+     * Get the catalog of the query.
+     *
+     * @return The name of the catalog or null if the table name is not complete.
+     */
+    public String getCatalog() {
+        return catalog;
+    }
+
+    /**
+     * Get the limit of the query.
+     *
+     * @return The maximum number of rows returned.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
     public Session getSession() {
         return session;
     }
@@ -445,4 +570,32 @@ public class SelectStatement {
     public Map<Selector, String> getAliasColumns() {
         return aliasColumns;
     }
+
+    /**
+     * Get the connector properties of the cluster of the query.
+     *
+     * @return The list of properties and values.
+     */
+    public List<Pair<String, String>> getClusterOptions() {
+        return clusterOptions;
+    }
+
+    /**
+     * Get the values of the bind markers of the last template built by {@link #parseQueryTemplate()}.
+     *
+     * @return The list of values in the order of the bind markers.
+     */
+    public List<Object> getBindValues() {
+        return bindValues;
+    }
+
+    /**
+     * Whether the last template built by {@link #parseQueryTemplate()} is worth preparing, that is, no relation
+     * value had to be inlined in the query.
+     *
+     * @return true if the template can be reused by other queries with the same shape.
+     */
+    public boolean isPreparable() {
+        return preparable;
+    }
 }
@@ -0,0 +1,114 @@
+/*
+ * Licensed to STRATIO (C) under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  The STRATIO (C) licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.stratio.connector.cassandra.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.datastax.driver.core.DataType;
+
+/**
+ * Conversion of the validators of the system tables, i.e. the class names of the Cassandra marshal types, into the
+ * {@link com.datastax.driver.core.DataType} of the driver. It is needed to resolve the columns of a table when the
+ * schema metadata of the driver is disabled.
+ */
+public final class CassandraTypes {
+
+    private static final String MARSHAL_PACKAGE = "org.apache.cassandra.db.marshal.";
+
+    private static final Map<String, DataType> PRIMITIVE_TYPES = new HashMap<>();
+
+    static {
+        PRIMITIVE_TYPES.put("AsciiType", DataType.ascii());
+        PRIMITIVE_TYPES.put("LongType", DataType.bigint());
+        PRIMITIVE_TYPES.put("BytesType", DataType.blob());
+        PRIMITIVE_TYPES.put("BooleanType", DataType.cboolean());
+        PRIMITIVE_TYPES.put("CounterColumnType", DataType.counter());
+        PRIMITIVE_TYPES.put("DecimalType", DataType.decimal());
+        PRIMITIVE_TYPES.put("DoubleType", DataType.cdouble());
+        PRIMITIVE_TYPES.put("FloatType", DataType.cfloat());
+        PRIMITIVE_TYPES.put("InetAddressType", DataType.inet());
+        PRIMITIVE_TYPES.put("Int32Type", DataType.cint());
+        PRIMITIVE_TYPES.put("UTF8Type", DataType.text());
+        PRIMITIVE_TYPES.put("TimestampType", DataType.timestamp());
+        PRIMITIVE_TYPES.put("DateType", DataType.timestamp());
+        PRIMITIVE_TYPES.put("UUIDType", DataType.uuid());
+        PRIMITIVE_TYPES.put("IntegerType", DataType.varint());
+        PRIMITIVE_TYPES.put("TimeUUIDType", DataType.timeuuid());
+    }
+
+    /**
+     * Private class constructor as all methods are static.
+     */
+    private CassandraTypes() {
+    }
+
+    /**
+     * Get the type of a validator.
+     *
+     * @param validator The validator, e.g. {@code org.apache.cassandra.db.marshal.ListType(...UTF8Type)}.
+     * @return The {@link com.datastax.driver.core.DataType}, a custom type if it is not a native or collection type.
+     */
+    public static DataType fromValidator(String validator) {
+        String type = validator.trim();
+        int parenthesis = type.indexOf('(');
+        String name = simpleName(parenthesis < 0 ? type : type.substring(0, parenthesis));
+        List<String> parameters = parenthesis < 0 ? new ArrayList<String>()
+                : splitParameters(type.substring(parenthesis + 1, type.lastIndexOf(')')));
+        switch (name) {
+        case "ReversedType":
+        case "FrozenType":
+            return fromValidator(parameters.get(0));
+        case "ListType":
+            return DataType.list(fromValidator(parameters.get(0)));
+        case "SetType":
+            return DataType.set(fromValidator(parameters.get(0)));
+        case "MapType":
+            return DataType.map(fromValidator(parameters.get(0)), fromValidator(parameters.get(1)));
+        default:
+            DataType primitive = PRIMITIVE_TYPES.get(name);
+            return primitive == null ? DataType.custom(type) : primitive;
+        }
+    }
+
+    private static String simpleName(String className) {
+        return className.startsWith(MARSHAL_PACKAGE) ? className.substring(MARSHAL_PACKAGE.length()) : className;
+    }
+
+    private static List<String> splitParameters(String parameters) {
+        List<String> result = new ArrayList<>();
+        int depth = 0;
+        int start = 0;
+        for (int i = 0; i < parameters.length(); i++) {
+            char c = parameters.charAt(i);
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == ',' && depth == 0) {
+                result.add(parameters.substring(start, i));
+                start = i + 1;
+            }
+        }
+        result.add(parameters.substring(start));
+        return result;
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Licensed to STRATIO (C) under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  The STRATIO (C) licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.stratio.connector.cassandra.utils;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.datastax.driver.core.Cluster;
+import com.datastax.driver.core.KeyspaceMetadata;
+import com.datastax.driver.core.SchemaChangeListener;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.TableMetadata;
+import com.datastax.driver.core.UserType;
+import com.stratio.crossdata.common.metadata.CatalogMetadata;
+
+/**
+ * Cache of the Crossdata {@link com.stratio.crossdata.common.metadata.CatalogMetadata} converted from the keyspaces
+ * of a {@link com.datastax.driver.core.Session}, for the incremental metadata import. Each keyspace has a schema
+ * version that is increased when the driver notifies a change of the keyspace, its tables or its types, and a
+ * converted catalog is only reused while the version of its keyspace is the one it was converted from.
+ */
+public final class CatalogMetadataCache implements SchemaChangeListener {
+
+    /**
+     * The caches of the connector sessions.
+     */
+    private static final ConcurrentMap<Session, CatalogMetadataCache> CACHES = new ConcurrentHashMap<>();
+
+    /**
+     * The schema versions by keyspace.
+     */
+    private final ConcurrentMap<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    /**
+     * The converted catalogs by keyspace.
+     */
+    private final ConcurrentMap<String, VersionedCatalog> catalogs = new ConcurrentHashMap<>();
+
+    /**
+     * Class constructor, the caches of the sessions are obtained with {@link #forSession(Session)}.
+     */
+    CatalogMetadataCache() {
+    }
+
+    /**
+     * Get the cache associated with a session, creating it if it does not exist yet.
+     *
+     * @param session The Cassandra session.
+     * @return A {@link com.stratio.connector.cassandra.utils.CatalogMetadataCache}.
+     */
+    public static CatalogMetadataCache forSession(Session session) {
+        CatalogMetadataCache cache = CACHES.get(session);
+        if (cache == null) {
+            CatalogMetadataCache newCache = new CatalogMetadataCache();
+            cache = CACHES.putIfAbsent(session, newCache);
+            if (cache == null) {
+                cache = newCache;
+                session.getCluster().register(cache);
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Remove the cache associated with a session. It must be called when the session is closed.
+     *
+     * @param session The Cassandra session.
+     */
+    public static void release(Session session) {
+        CatalogMetadataCache cache = CACHES.remove(session);
+        if (cache != null && !session.getCluster().isClosed()) {
+            session.getCluster().unregister(cache);
+        }
+    }
+
+    /**
+     * Get the current schema version of a keyspace. It must be read before the keyspace is converted.
+     *
+     * @param keyspace The name of the keyspace.
+     * @return The version.
+     */
+    public long getVersion(String keyspace) {
+        AtomicLong version = versions.get(keyspace);
+        return version == null ? 0 : version.get();
+    }
+
+    /**
+     * Get the catalog converted from a version of a keyspace.
+     *
+     * @param keyspace The name of the keyspace.
+     * @param version  The schema version of the keyspace.
+     * @return The {@link com.stratio.crossdata.common.metadata.CatalogMetadata} or null if it is not cached or it
+     * was converted from another version.
+     */
+    public CatalogMetadata get(String keyspace, long version) {
+        VersionedCatalog catalog = catalogs.get(keyspace);
+        return catalog == null || catalog.version != version ? null : catalog.catalog;
+    }
+
+    /**
+     * Cache the catalog converted from a version of a keyspace.
+     *
+     * @param keyspace The name of the keyspace.
+     * @param version  The schema version of the keyspace when the conversion started.
+     * @param catalog  The {@link com.stratio.crossdata.common.metadata.CatalogMetadata}.
+     */
+    public void put(String keyspace, long version, CatalogMetadata catalog) {
+        if (version == getVersion(keyspace)) {
+            catalogs.put(keyspace, new VersionedCatalog(version, catalog));
+        }
+    }
+
+    /**
+     * Increase the schema version of a keyspace and discard its catalog after a change of its schema.
+     *
+     * @param keyspace The name of the keyspace.
+     */
+    void changed(String keyspace) {
+        AtomicLong version = versions.get(keyspace);
+        if (version == null) {
+            AtomicLong newVersion = new AtomicLong();
+            version = versions.putIfAbsent(keyspace, newVersion);
+            if (version == null) {
+                version = newVersion;
+            }
+        }
+        version.incrementAndGet();
+        catalogs.remove(keyspace);
+    }
+
+    @Override
+    public void onKeyspaceAdded(KeyspaceMetadata keyspace) {
+        changed(keyspace.getName());
+    }
+
+    @Override
+    public void onKeyspaceRemoved(KeyspaceMetadata keyspace) {
+        changed(keyspace.getName());
+    }
+
+    @Override
+    public void onKeyspaceChanged(KeyspaceMetadata current, KeyspaceMetadata previous) {
+        changed(current.getName());
+    }
+
+    @Override
+    public void onTableAdded(TableMetadata table) {
+        changed(table.getKeyspace().getName());
+    }
+
+    @Override
+    public void onTableRemoved(TableMetadata table) {
+        changed(table.getKeyspace().getName());
+    }
+
+    @Override
+    public void onTableChanged(TableMetadata current, TableMetadata previous) {
+        changed(current.getKeyspace().getName());
+    }
+
+    @Override
+    public void onUserTypeAdded(UserType type) {
+        changed(type.getKeyspace());
+    }
+
+    @Override
+    public void onUserTypeRemoved(UserType type) {
+        changed(type.getKeyspace());
+    }
+
+    @Override
+    public void onUserTypeChanged(UserType current, UserType previous) {
+        changed(current.getKeyspace());
+    }
+
+    @Override
+    public void onRegister(Cluster cluster) {
+    }
+
+    @Override
+    public void onUnregister(Cluster cluster) {
+    }
+
+    /**
+     * A catalog and the schema version of the keyspace it was converted from.
+     */
+    private static final class VersionedCatalog {
+
+        private final long version;
+        private final CatalogMetadata catalog;
+
+        private VersionedCatalog(long version, CatalogMetadata catalog) {
+            this.version = version;
+            this.catalog = catalog;
+        }
+    }
+}
@@ -0,0 +1,265 @@
+/*
+ * Licensed to STRATIO (C) under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  The STRATIO (C) licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.stratio.connector.cassandra.utils;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.log4j.Logger;
+import org.codehaus.jackson.JsonNode;
+import org.codehaus.jackson.JsonParser;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.codehaus.jackson.type.TypeReference;
+
+import com.datastax.driver.core.Cluster;
+import com.datastax.driver.core.KeyspaceMetadata;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.SchemaChangeListener;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.SimpleStatement;
+import com.datastax.driver.core.TableMetadata;
+import com.datastax.driver.core.UserType;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Cache of the schemas of the Lucene indexes per {@link com.datastax.driver.core.Session}. The index options of all
+ * the tables of a keyspace are read from {@code system.schema_columns} with a single query the first time an index
+ * of the keyspace is needed, and they are discarded when the driver notifies a change of the keyspace or its tables,
+ * or when the connector changes them. When the schema metadata of the driver is disabled there are no notifications,
+ * so the options expire after {@link TableDescriptorCache#SYSTEM_SCHEMA_TTL} seconds.
+ */
+public final class LuceneSchemaCache implements SchemaChangeListener {
+
+    /**
+     * Class logger.
+     */
+    private static final Logger LOG = Logger.getLogger(LuceneSchemaCache.class);
+
+    /**
+     * Query of the index options of the columns of a keyspace.
+     */
+    private static final String INDEX_OPTIONS_QUERY = "SELECT columnfamily_name, index_options FROM "
+            + "system.schema_columns WHERE keyspace_name = ?";
+
+    /**
+     * Parser of the index options and of the schemas, which may have unquoted field names.
+     */
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(JsonParser.Feature.ALLOW_UNQUOTED_FIELD_NAMES, true)
+            .configure(JsonParser.Feature.ALLOW_SINGLE_QUOTES, true);
+
+    /**
+     * The caches of the connector sessions.
+     */
+    private static final ConcurrentMap<Session, LuceneSchemaCache> CACHES = new ConcurrentHashMap<>();
+
+    /**
+     * The session used to read the index options.
+     */
+    private final Session session;
+
+    /**
+     * The fields of the indexes by keyspace, table and field name.
+     */
+    private final ConcurrentMap<String, Map<String, Map<String, String>>> keyspaces;
+
+    /**
+     * Number of invalidations, so that the options read before an invalidation are not cached.
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * Class constructor.
+     *
+     * @param session The session used to read the index options.
+     */
+    private LuceneSchemaCache(Session session) {
+        this.session = session;
+        CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder();
+        if (!Utils.isSchemaMetadataEnabled(session)) {
+            builder.expireAfterWrite(TableDescriptorCache.SYSTEM_SCHEMA_TTL, TimeUnit.SECONDS);
+        }
+        this.keyspaces = builder.<String, Map<String, Map<String, String>>>build().asMap();
+    }
+
+    /**
+     * Get the cache associated with a session, creating it if it does not exist yet.
+     *
+     * @param session The Cassandra session.
+     * @return A {@link com.stratio.connector.cassandra.utils.LuceneSchemaCache}.
+     */
+    public static LuceneSchemaCache forSession(Session session) {
+        LuceneSchemaCache cache = CACHES.get(session);
+        if (cache == null) {
+            LuceneSchemaCache newCache = new LuceneSchemaCache(session);
+            cache = CACHES.putIfAbsent(session, newCache);
+            if (cache == null) {
+                cache = newCache;
+                session.getCluster().register(cache);
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Remove the cache associated with a session. It must be called when the session is closed.
+     *
+     * @param session The Cassandra session.
+     */
+    public static void release(Session session) {
+        LuceneSchemaCache cache = CACHES.remove(session);
+        if (cache != null && !session.getCluster().isClosed()) {
+            session.getCluster().unregister(cache);
+        }
+    }
+
+    /**
+     * Get the fields of the Lucene index of a table.
+     *
+     * @param keyspace The name of the keyspace.
+     * @param table    The name of the table.
+     * @return The types of the indexed fields by field name, empty if the table has no Lucene index.
+     */
+    public Map<String, String> getFields(String keyspace, String table) {
+        Map<String, Map<String, String>> tables = keyspaces.get(keyspace);
+        if (tables == null) {
+            long invalidationsBefore = invalidations.get();
+            tables = readKeyspace(keyspace);
+            if (invalidations.get() == invalidationsBefore) {
+                keyspaces.putIfAbsent(keyspace, tables);
+            }
+        }
+        Map<String, String> fields = tables.get(table);
+        return fields == null ? Collections.<String, String>emptyMap() : fields;
+    }
+
+    private Map<String, Map<String, String>> readKeyspace(String keyspace) {
+        Map<String, Map<String, String>> tables = new HashMap<>();
+        for (Row row : session.execute(new SimpleStatement(INDEX_OPTIONS_QUERY, keyspace))) {
+            String options = row.getString("index_options");
+            if (options == null || "null".equals(options)) {
+                continue;
+            }
+            String table = row.getString("columnfamily_name");
+            try {
+                Map<String, String> fields = parseFields(options);
+                if (!fields.isEmpty()) {
+                    tables.put(table, fields);
+                }
+            } catch (IOException | RuntimeException e) {
+                LOG.warn("Invalid options of an index of " + keyspace + "." + table + ": " + options, e);
+            }
+        }
+        return tables;
+    }
+
+    /**
+     * Get the fields of the schema of a Lucene index.
+     *
+     * @param indexOptions The options of the index, in JSON.
+     * @return The types of the fields by field name, empty if the options have no schema.
+     * @throws IOException If the options or the schema are not valid JSON.
+     */
+    static Map<String, String> parseFields(String indexOptions) throws IOException {
+        Map<String, String> options = MAPPER.readValue(indexOptions, new TypeReference<Map<String, String>>() { });
+        Map<String, String> fields = new LinkedHashMap<>();
+        String schema = options.get("schema");
+        if (schema == null) {
+            return fields;
+        }
+        JsonNode fieldsNode = MAPPER.readTree(schema).get("fields");
+        if (fieldsNode == null) {
+            return fields;
+        }
+        for (Iterator<Map.Entry<String, JsonNode>> it = fieldsNode.getFields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = it.next();
+            JsonNode type = field.getValue().get("type");
+            if (type != null) {
+                fields.put(field.getKey(), type.getTextValue());
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * Discard the index options of a keyspace after a change of the schema of any of its tables or indexes.
+     *
+     * @param keyspace The name of the keyspace.
+     */
+    public void invalidateKeyspace(String keyspace) {
+        invalidations.incrementAndGet();
+        keyspaces.remove(keyspace);
+    }
+
+    @Override
+    public void onKeyspaceAdded(KeyspaceMetadata keyspace) {
+    }
+
+    @Override
+    public void onKeyspaceRemoved(KeyspaceMetadata keyspace) {
+        invalidateKeyspace(keyspace.getName());
+    }
+
+    @Override
+    public void onKeyspaceChanged(KeyspaceMetadata current, KeyspaceMetadata previous) {
+    }
+
+    @Override
+    public void onTableAdded(TableMetadata table) {
+        invalidateKeyspace(table.getKeyspace().getName());
+    }
+
+    @Override
+    public void onTableRemoved(TableMetadata table) {
+        invalidateKeyspace(table.getKeyspace().getName());
+    }
+
+    @Override
+    public void onTableChanged(TableMetadata current, TableMetadata previous) {
+        invalidateKeyspace(current.getKeyspace().getName());
+    }
+
+    @Override
+    public void onUserTypeAdded(UserType type) {
+    }
+
+    @Override
+    public void onUserTypeRemoved(UserType type) {
+    }
+
+    @Override
+    public void onUserTypeChanged(UserType current, UserType previous) {
+    }
+
+    @Override
+    public void onRegister(Cluster cluster) {
+    }
+
+    @Override
+    public void onUnregister(Cluster cluster) {
+    }
+}
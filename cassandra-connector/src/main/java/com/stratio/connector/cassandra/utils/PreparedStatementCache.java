@@ -0,0 +1,205 @@
+/*
+ * Licensed to STRATIO (C) under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  The STRATIO (C) licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.stratio.connector.cassandra.utils;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.Logger;
+
+import com.datastax.driver.core.Cluster;
+import com.datastax.driver.core.KeyspaceMetadata;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.SchemaChangeListener;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.TableMetadata;
+import com.datastax.driver.core.UserType;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * Bounded cache of {@link com.datastax.driver.core.PreparedStatement} per {@link com.datastax.driver.core.Session}
+ * keyed by the CQL template. Concurrent requests for the same template prepare it only once, and the whole cache
+ * is invalidated when the driver notifies a change or removal of a table or keyspace, or when the schema is changed
+ * through the connector. When the schema metadata of the driver is disabled there are no notifications of the
+ * changes made by other clients, so the statements also expire after
+ * {@link com.stratio.connector.cassandra.utils.TableDescriptorCache#SYSTEM_SCHEMA_TTL} seconds.
+ */
+public final class PreparedStatementCache implements SchemaChangeListener {
+
+    /**
+     * Class logger.
+     */
+    private static final Logger LOG = Logger.getLogger(PreparedStatementCache.class);
+
+    /**
+     * Maximum number of prepared statements kept per session.
+     */
+    public static final int DEFAULT_MAX_SIZE = 1000;
+
+    /**
+     * The caches of the connector sessions.
+     */
+    private static final ConcurrentMap<Session, PreparedStatementCache> CACHES = new ConcurrentHashMap<>();
+
+    /**
+     * The session used to prepare the statements.
+     */
+    private final Session session;
+
+    /**
+     * The prepared statements by CQL template.
+     */
+    private final Cache<String, PreparedStatement> statements;
+
+    /**
+     * Class constructor.
+     *
+     * @param session The session used to prepare the statements.
+     * @param maxSize The maximum number of statements kept.
+     */
+    private PreparedStatementCache(Session session, int maxSize) {
+        this.session = session;
+        CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder().maximumSize(maxSize);
+        if (!Utils.isSchemaMetadataEnabled(session)) {
+            builder.expireAfterWrite(TableDescriptorCache.SYSTEM_SCHEMA_TTL, TimeUnit.SECONDS);
+        }
+        this.statements = builder.build();
+    }
+
+    /**
+     * Get the cache associated with a session, creating it if it does not exist yet.
+     *
+     * @param session The Cassandra session.
+     * @return A {@link com.stratio.connector.cassandra.utils.PreparedStatementCache}.
+     */
+    public static PreparedStatementCache forSession(Session session) {
+        PreparedStatementCache cache = CACHES.get(session);
+        if (cache == null) {
+            PreparedStatementCache newCache = new PreparedStatementCache(session, DEFAULT_MAX_SIZE);
+            cache = CACHES.putIfAbsent(session, newCache);
+            if (cache == null) {
+                cache = newCache;
+                session.getCluster().register(cache);
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Remove the cache associated with a session. It must be called when the session is closed.
+     *
+     * @param session The Cassandra session.
+     */
+    public static void release(Session session) {
+        PreparedStatementCache cache = CACHES.remove(session);
+        if (cache != null && !session.getCluster().isClosed()) {
+            session.getCluster().unregister(cache);
+        }
+    }
+
+    /**
+     * Get the prepared statement of a CQL template, preparing it if it is not cached.
+     *
+     * @param template The CQL template with bind markers.
+     * @return The {@link com.datastax.driver.core.PreparedStatement}.
+     */
+    public PreparedStatement get(final String template) {
+        try {
+            return statements.get(template, new Callable<PreparedStatement>() {
+                @Override
+                public PreparedStatement call() {
+                    return session.prepare(template);
+                }
+            });
+        } catch (UncheckedExecutionException e) {
+            throw (RuntimeException) e.getCause();
+        } catch (java.util.concurrent.ExecutionException e) {
+            throw new IllegalStateException("Cannot prepare statement: " + template, e.getCause());
+        }
+    }
+
+    /**
+     * Get the number of cached statements.
+     *
+     * @return The number of statements.
+     */
+    public long size() {
+        return statements.size();
+    }
+
+    /**
+     * Discard all the prepared statements.
+     */
+    public void invalidateAll() {
+        LOG.debug("Schema changed, discarding prepared statements");
+        statements.invalidateAll();
+    }
+
+    @Override
+    public void onKeyspaceAdded(KeyspaceMetadata keyspace) {
+    }
+
+    @Override
+    public void onKeyspaceRemoved(KeyspaceMetadata keyspace) {
+        invalidateAll();
+    }
+
+    @Override
+    public void onKeyspaceChanged(KeyspaceMetadata current, KeyspaceMetadata previous) {
+    }
+
+    @Override
+    public void onTableAdded(TableMetadata table) {
+    }
+
+    @Override
+    public void onTableRemoved(TableMetadata table) {
+        invalidateAll();
+    }
+
+    @Override
+    public void onTableChanged(TableMetadata current, TableMetadata previous) {
+        invalidateAll();
+    }
+
+    @Override
+    public void onUserTypeAdded(UserType type) {
+    }
+
+    @Override
+    public void onUserTypeRemoved(UserType type) {
+    }
+
+    @Override
+    public void onUserTypeChanged(UserType current, UserType previous) {
+        invalidateAll();
+    }
+
+    @Override
+    public void onRegister(Cluster cluster) {
+    }
+
+    @Override
+    public void onUnregister(Cluster cluster) {
+    }
+}
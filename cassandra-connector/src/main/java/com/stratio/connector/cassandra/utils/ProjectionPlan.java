@@ -0,0 +1,149 @@
+/*
+ * Licensed to STRATIO (C) under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  The STRATIO (C) licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.stratio.connector.cassandra.utils;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.Row;
+import com.stratio.crossdata.common.data.ColumnName;
+import com.stratio.crossdata.common.metadata.ColumnMetadata;
+import com.stratio.crossdata.common.metadata.ColumnType;
+import com.stratio.crossdata.common.statements.structures.Selector;
+
+/**
+ * Projection of the rows of a result set into Crossdata rows. The output name of every column, taking the alias
+ * into account, and the positions of the visible columns are computed once, so that converting a row is a loop
+ * over the plan. The internal columns of the Stratio Lucene index are not projected.
+ */
+public final class ProjectionPlan {
+
+    /**
+     * Prefix of the internal columns that are not returned to Crossdata.
+     */
+    private static final String HIDDEN_PREFIX = "stratio";
+
+    /**
+     * Estimated bytes used by a converted row besides its cells.
+     */
+    private static final long ROW_OVERHEAD = 64;
+
+    /**
+     * Estimated bytes used by a converted cell besides its value.
+     */
+    private static final long CELL_OVERHEAD = 64;
+
+    private final List<ColumnMetadata> columnMetadata;
+    private final int[] positions;
+    private final String[] names;
+    private final RowDecoder decoder;
+
+    /**
+     * Class constructor.
+     *
+     * @param definitions The columns of the result set.
+     * @param alias       The map with the relations between ColumnName and Alias.
+     */
+    public ProjectionPlan(List<ColumnDefinitions.Definition> definitions, Map<Selector, String> alias) {
+        Map<String, String> aliasByName = new HashMap<>();
+        for (Map.Entry<Selector, String> entry : alias.entrySet()) {
+            ColumnName selected = entry.getKey().getColumnName();
+            if (selected != null && !aliasByName.containsKey(selected.getQualifiedName())) {
+                aliasByName.put(selected.getQualifiedName(), entry.getValue());
+            }
+        }
+
+        CassandraMetadataHelper helper = new CassandraMetadataHelper();
+        columnMetadata = new ArrayList<>(definitions.size());
+        List<Integer> visible = new ArrayList<>(definitions.size());
+        List<String> visibleNames = new ArrayList<>(definitions.size());
+        for (int i = 0; i < definitions.size(); i++) {
+            ColumnDefinitions.Definition def = definitions.get(i);
+            ColumnName columnName = new ColumnName(def.getKeyspace(), def.getTable(), def.getName());
+            String columnAlias = aliasByName.get(columnName.getQualifiedName());
+            ColumnMetadata metadata = new ColumnMetadata(columnName, null, getColumnType(helper, def));
+            if (columnAlias != null) {
+                metadata.getName().setAlias(columnAlias);
+            }
+            columnMetadata.add(metadata);
+
+            if (!def.getName().toLowerCase().startsWith(HIDDEN_PREFIX)) {
+                visible.add(i);
+                visibleNames.add(columnAlias != null ? columnAlias : def.getName());
+            }
+        }
+        positions = new int[visible.size()];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = visible.get(i);
+        }
+        names = visibleNames.toArray(new String[visibleNames.size()]);
+        decoder = new RowDecoder(definitions);
+    }
+
+    private static ColumnType getColumnType(CassandraMetadataHelper helper, ColumnDefinitions.Definition def) {
+        String typeName = def.getType().getName().toString();
+        if ("list".equalsIgnoreCase(typeName)) {
+            String innerType = def.getType().getTypeArguments().get(0).getName().toString();
+            return helper.toColumnType(typeName, innerType);
+        }
+        return helper.toColumnType(typeName);
+    }
+
+    /**
+     * Get the metadata of the columns of the result set.
+     *
+     * @return A list of {@link com.stratio.crossdata.common.metadata.ColumnMetadata} in the order of the result set.
+     */
+    public List<ColumnMetadata> getColumnMetadata() {
+        return columnMetadata;
+    }
+
+    /**
+     * Convert a row of the result set.
+     *
+     * @param row The Cassandra row.
+     * @return The equivalent {@link com.stratio.crossdata.common.data.Row}.
+     */
+    public com.stratio.crossdata.common.data.Row project(Row row) {
+        com.stratio.crossdata.common.data.Row metaRow = new com.stratio.crossdata.common.data.Row();
+        for (int i = 0; i < positions.length; i++) {
+            metaRow.addCell(names[i], decoder.decode(row, positions[i]));
+        }
+        return metaRow;
+    }
+
+    /**
+     * Estimate the memory used by the conversion of a row from the serialized size of its visible columns.
+     *
+     * @param row The Cassandra row.
+     * @return The estimated number of bytes.
+     */
+    public long estimateSize(Row row) {
+        long size = ROW_OVERHEAD;
+        for (int position : positions) {
+            ByteBuffer value = row.getBytesUnsafe(position);
+            size += CELL_OVERHEAD + (value == null ? 0 : value.remaining());
+        }
+        return size;
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Licensed to STRATIO (C) under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  The STRATIO (C) licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.stratio.connector.cassandra.utils;
+
+import java.util.List;
+
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.Row;
+import com.stratio.crossdata.common.data.Cell;
+
+/**
+ * Decoding plan of the rows of a result set. The reader of each column is chosen once from the
+ * {@link com.datastax.driver.core.ColumnDefinitions} and the values are read by position, so decoding a row needs
+ * neither reflection nor lookups by type or column name.
+ */
+public final class RowDecoder {
+
+    /**
+     * Strategy that reads the value of a column of a given type.
+     */
+    private enum CellReader {
+        STRING {
+            @Override
+            Object read(Row row, int index, DataType type) {
+                return row.getString(index);
+            }
+        },
+        LONG {
+            @Override
+            Object read(Row row, int index, DataType type) {
+                return row.getLong(index);
+            }
+        },
+        BOOLEAN {
+            @Override
+            Object read(Row row, int index, DataType type) {
+                return row.getBool(index);
+            }
+        },
+        BYTES {
+            @Override
+            Object read(Row row, int index, DataType type) {
+                return row.getBytes(index);
+            }
+        },
+        DECIMAL {
+            @Override
+            Object read(Row row, int index, DataType type) {
+                return row.getDecimal(index);
+            }
+        },
+        DOUBLE {
+            @Override
+            Object read(Row row, int index, DataType type) {
+                return row.getDouble(index);
+            }
+        },
+        FLOAT {
+            @Override
+            Object read(Row row, int index, DataType type) {
+                return row.getFloat(index);
+            }
+        },
+        INET {
+            @Override
+            Object read(Row row, int index, DataType type) {
+                return row.getInet(index);
+            }
+        },
+        INT {
+            @Override
+            Object read(Row row, int index, DataType type) {
+                return row.getInt(index);
+            }
+        },
+        DATE {
+            @Override
+            Object read(Row row, int index, DataType type) {
+                return row.getDate(index);
+            }
+        },
+        UUID {
+            @Override
+            Object read(Row row, int index, DataType type) {
+                return row.getUUID(index);
+            }
+        },
+        VARINT {
+            @Override
+            Object read(Row row, int index, DataType type) {
+                return row.getVarint(index);
+            }
+        },
+        LIST {
+            @Override
+            Object read(Row row, int index, DataType type) {
+                return row.getList(index, type.getTypeArguments().get(0).asJavaClass()).toString();
+            }
+        },
+        SET {
+            @Override
+            Object read(Row row, int index, DataType type) {
+                return row.getSet(index, type.getTypeArguments().get(0).asJavaClass()).toString();
+            }
+        },
+        MAP {
+            @Override
+            Object read(Row row, int index, DataType type) {
+                List<DataType> arguments = type.getTypeArguments();
+                return row.getMap(index, arguments.get(0).asJavaClass(), arguments.get(1).asJavaClass())
+                        .toString();
+            }
+        },
+        RAW {
+            @Override
+            Object read(Row row, int index, DataType type) {
+                return row.getBytesUnsafe(index);
+            }
+        };
+
+        /**
+         * Read the value of a column.
+         *
+         * @param row   The row.
+         * @param index The position of the column.
+         * @param type  The type of the column.
+         * @return The value of the column.
+         */
+        abstract Object read(Row row, int index, DataType type);
+
+        /**
+         * Get the reader of a Cassandra type.
+         *
+         * @param type The {@link com.datastax.driver.core.DataType} of the column.
+         * @return The {@link CellReader}.
+         */
+        static CellReader of(DataType type) {
+            switch (type.getName()) {
+            case ASCII:
+            case TEXT:
+            case VARCHAR:
+                return STRING;
+            case BIGINT:
+            case COUNTER:
+                return LONG;
+            case BOOLEAN:
+                return BOOLEAN;
+            case BLOB:
+                return BYTES;
+            case DECIMAL:
+                return DECIMAL;
+            case DOUBLE:
+                return DOUBLE;
+            case FLOAT:
+                return FLOAT;
+            case INET:
+                return INET;
+            case INT:
+                return INT;
+            case TIMESTAMP:
+                return DATE;
+            case UUID:
+            case TIMEUUID:
+                return UUID;
+            case VARINT:
+                return VARINT;
+            case LIST:
+                return LIST;
+            case SET:
+                return SET;
+            case MAP:
+                return MAP;
+            default:
+                return RAW;
+            }
+        }
+    }
+
+    private final DataType[] types;
+    private final CellReader[] readers;
+
+    /**
+     * Class constructor.
+     *
+     * @param definitions The columns of the result set.
+     */
+    public RowDecoder(List<ColumnDefinitions.Definition> definitions) {
+        types = new DataType[definitions.size()];
+        readers = new CellReader[definitions.size()];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = definitions.get(i).getType();
+            readers[i] = CellReader.of(types[i]);
+        }
+    }
+
+    /**
+     * Get a {@link com.stratio.crossdata.common.data.Cell} with the contents of a column of a row.
+     *
+     * @param row   The row.
+     * @param index The position of the column in the result set.
+     * @return A {@link com.stratio.crossdata.common.data.Cell} with the contents.
+     */
+    public Cell decode(Row row, int index) {
+        return new Cell(readers[index].read(row, index, types[index]));
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Licensed to STRATIO (C) under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  The STRATIO (C) licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.stratio.connector.cassandra.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.datastax.driver.core.ColumnMetadata;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.TableMetadata;
+
+/**
+ * The parts of the metadata of a table that the query planning needs, resolved once from the
+ * {@link com.datastax.driver.core.TableMetadata} of the driver or from the system tables: the types of the columns,
+ * the key layout and the column of the custom index.
+ */
+public final class TableDescriptor {
+
+    private final Map<String, DataType> columnTypes = new HashMap<>();
+    private final List<String> partitionKey = new ArrayList<>();
+    private final List<String> clusteringColumns = new ArrayList<>();
+    private final String customIndexColumn;
+
+    /**
+     * Class constructor.
+     *
+     * @param columnTypes       The types of the columns by name.
+     * @param partitionKey      The names of the columns of the partition key.
+     * @param clusteringColumns The names of the clustering columns.
+     * @param customIndexColumn The column of the custom index, null if there is none.
+     */
+    public TableDescriptor(Map<String, DataType> columnTypes, List<String> partitionKey,
+            List<String> clusteringColumns, String customIndexColumn) {
+        this.columnTypes.putAll(columnTypes);
+        this.partitionKey.addAll(partitionKey);
+        this.clusteringColumns.addAll(clusteringColumns);
+        this.customIndexColumn = customIndexColumn == null ? "" : Utils.toCaseSensitive(customIndexColumn);
+    }
+
+    /**
+     * Class constructor.
+     *
+     * @param table The metadata of the table.
+     */
+    public TableDescriptor(TableMetadata table) {
+        String indexColumn = "";
+        for (ColumnMetadata column : table.getColumns()) {
+            columnTypes.put(column.getName(), column.getType());
+            if (column.getIndex() != null && column.getIndex().isCustomIndex()) {
+                indexColumn = Utils.toCaseSensitive(column.getName());
+            }
+        }
+        for (ColumnMetadata column : table.getPartitionKey()) {
+            partitionKey.add(column.getName());
+        }
+        for (ColumnMetadata column : table.getClusteringColumns()) {
+            clusteringColumns.add(column.getName());
+        }
+        this.customIndexColumn = indexColumn;
+    }
+
+    /**
+     * Get the type of a column.
+     *
+     * @param column The name of the column.
+     * @return The {@link com.datastax.driver.core.DataType} or null if the column does not exist.
+     */
+    public DataType getColumnType(String column) {
+        return columnTypes.get(column);
+    }
+
+    /**
+     * Get the names of the columns of the partition key.
+     *
+     * @return The list of names.
+     */
+    public List<String> getPartitionKey() {
+        return Collections.unmodifiableList(partitionKey);
+    }
+
+    /**
+     * Get the names of the clustering columns.
+     *
+     * @return The list of names.
+     */
+    public List<String> getClusteringColumns() {
+        return Collections.unmodifiableList(clusteringColumns);
+    }
+
+    /**
+     * Get the column of the custom index of the table, e.g. a Lucene index.
+     *
+     * @return The quoted name of the column or an empty string if the table has no custom index.
+     */
+    public String getCustomIndexColumn() {
+        return customIndexColumn;
+    }
+}
@@ -0,0 +1,300 @@
+/*
+ * Licensed to STRATIO (C) under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  The STRATIO (C) licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.stratio.connector.cassandra.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.log4j.Logger;
+
+import com.datastax.driver.core.Cluster;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.KeyspaceMetadata;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.SchemaChangeListener;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.SimpleStatement;
+import com.datastax.driver.core.TableMetadata;
+import com.datastax.driver.core.UserType;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Cache of {@link com.stratio.connector.cassandra.utils.TableDescriptor} per {@link com.datastax.driver.core.Session}
+ * keyed by keyspace and table. The descriptors are built the first time a table is used and discarded when the
+ * driver notifies a change or removal of their table or keyspace. When the schema metadata of the driver is disabled
+ * the descriptors are read from {@code system.schema_columns} instead, and as the driver does not notify the schema
+ * changes they expire after {@link #SYSTEM_SCHEMA_TTL} seconds, besides being discarded by the schema changes made
+ * through the connector.
+ */
+public final class TableDescriptorCache implements SchemaChangeListener {
+
+    /**
+     * Class logger.
+     */
+    private static final Logger LOG = Logger.getLogger(TableDescriptorCache.class);
+
+    /**
+     * Seconds a descriptor read from the system tables is kept.
+     */
+    public static final long SYSTEM_SCHEMA_TTL = 60;
+
+    /**
+     * Query of the columns of a table.
+     */
+    private static final String COLUMNS_QUERY = "SELECT column_name, type, component_index, validator, index_type "
+            + "FROM system.schema_columns WHERE keyspace_name = ? AND columnfamily_name = ?";
+
+    /**
+     * The caches of the connector sessions.
+     */
+    private static final ConcurrentMap<Session, TableDescriptorCache> CACHES = new ConcurrentHashMap<>();
+
+    /**
+     * The session whose cluster metadata is cached.
+     */
+    private final Session session;
+
+    /**
+     * The descriptors by keyspace and table.
+     */
+    private final ConcurrentMap<String, TableDescriptor> descriptors;
+
+    /**
+     * Whether the descriptors are built from the schema metadata of the driver.
+     */
+    private final boolean schemaMetadata;
+
+    /**
+     * Number of invalidations, so that a descriptor built from metadata older than an invalidation is not cached.
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * Class constructor.
+     *
+     * @param session The session whose cluster metadata is cached.
+     */
+    private TableDescriptorCache(Session session) {
+        this.session = session;
+        this.schemaMetadata = Utils.isSchemaMetadataEnabled(session);
+        CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder();
+        if (!schemaMetadata) {
+            builder.expireAfterWrite(SYSTEM_SCHEMA_TTL, TimeUnit.SECONDS);
+        }
+        this.descriptors = builder.<String, TableDescriptor>build().asMap();
+    }
+
+    /**
+     * Get the cache associated with a session, creating it if it does not exist yet.
+     *
+     * @param session The Cassandra session.
+     * @return A {@link com.stratio.connector.cassandra.utils.TableDescriptorCache}.
+     */
+    public static TableDescriptorCache forSession(Session session) {
+        TableDescriptorCache cache = CACHES.get(session);
+        if (cache == null) {
+            TableDescriptorCache newCache = new TableDescriptorCache(session);
+            cache = CACHES.putIfAbsent(session, newCache);
+            if (cache == null) {
+                cache = newCache;
+                session.getCluster().register(cache);
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Remove the cache associated with a session. It must be called when the session is closed.
+     *
+     * @param session The Cassandra session.
+     */
+    public static void release(Session session) {
+        TableDescriptorCache cache = CACHES.remove(session);
+        if (cache != null && !session.getCluster().isClosed()) {
+            session.getCluster().unregister(cache);
+        }
+    }
+
+    /**
+     * Get the descriptor of a table, building it if it is not cached.
+     *
+     * @param keyspace The name of the keyspace.
+     * @param table    The name of the table.
+     * @return The {@link com.stratio.connector.cassandra.utils.TableDescriptor} or null if the table does not exist.
+     */
+    public TableDescriptor get(String keyspace, String table) {
+        String key = key(keyspace, table);
+        TableDescriptor descriptor = descriptors.get(key);
+        if (descriptor != null) {
+            return descriptor;
+        }
+        long invalidationsBefore = invalidations.get();
+        descriptor = schemaMetadata ? readSchemaMetadata(keyspace, table) : readSystemTables(keyspace, table);
+        if (descriptor == null) {
+            return null;
+        }
+        if (invalidations.get() == invalidationsBefore) {
+            descriptors.putIfAbsent(key, descriptor);
+        }
+        return descriptor;
+    }
+
+    private TableDescriptor readSchemaMetadata(String keyspace, String table) {
+        KeyspaceMetadata keyspaceMetadata = session.getCluster().getMetadata()
+                .getKeyspace(Utils.toCaseSensitive(keyspace));
+        TableMetadata tableMetadata = keyspaceMetadata == null ? null
+                : keyspaceMetadata.getTable(Utils.toCaseSensitive(table));
+        return tableMetadata == null ? null : new TableDescriptor(tableMetadata);
+    }
+
+    private TableDescriptor readSystemTables(String keyspace, String table) {
+        Map<String, DataType> columnTypes = new HashMap<>();
+        SortedMap<Integer, String> partitionKey = new TreeMap<>();
+        SortedMap<Integer, String> clusteringColumns = new TreeMap<>();
+        String customIndexColumn = null;
+        for (Row row : session.execute(new SimpleStatement(COLUMNS_QUERY, keyspace, table))) {
+            String column = row.getString("column_name");
+            columnTypes.put(column, CassandraTypes.fromValidator(row.getString("validator")));
+            int position = row.isNull("component_index") ? 0 : row.getInt("component_index");
+            if ("partition_key".equals(row.getString("type"))) {
+                partitionKey.put(position, column);
+            } else if ("clustering_key".equals(row.getString("type"))) {
+                clusteringColumns.put(position, column);
+            }
+            if ("CUSTOM".equals(row.getString("index_type"))) {
+                customIndexColumn = column;
+            }
+        }
+        if (columnTypes.isEmpty()) {
+            return null;
+        }
+        return new TableDescriptor(columnTypes, new ArrayList<>(partitionKey.values()),
+                new ArrayList<>(clusteringColumns.values()), customIndexColumn);
+    }
+
+    /**
+     * Discard the descriptor of a table after a change of its schema.
+     *
+     * @param keyspace The name of the keyspace.
+     * @param table    The name of the table.
+     */
+    public void invalidate(String keyspace, String table) {
+        invalidations.incrementAndGet();
+        descriptors.remove(key(keyspace, table));
+    }
+
+    /**
+     * Discard the descriptors of the tables of a keyspace after a change of its schema.
+     *
+     * @param keyspace The name of the keyspace.
+     */
+    public void invalidateKeyspace(String keyspace) {
+        invalidations.incrementAndGet();
+        LOG.debug("Schema of keyspace " + keyspace + " changed, discarding its table descriptors");
+        String prefix = key(keyspace, "");
+        for (Iterator<String> it = descriptors.keySet().iterator(); it.hasNext(); ) {
+            if (it.next().startsWith(prefix)) {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Get the type of a column.
+     *
+     * @param keyspace The name of the keyspace.
+     * @param table    The name of the table.
+     * @param column   The name of the column.
+     * @return The {@link com.datastax.driver.core.DataType} or null if the column does not exist.
+     */
+    public DataType getColumnType(String keyspace, String table, String column) {
+        TableDescriptor descriptor = get(keyspace, table);
+        return descriptor == null ? null : descriptor.getColumnType(column);
+    }
+
+    /**
+     * Get the number of cached descriptors.
+     *
+     * @return The number of descriptors.
+     */
+    public int size() {
+        return descriptors.size();
+    }
+
+    private static String key(String keyspace, String table) {
+        return keyspace + "." + table;
+    }
+
+    @Override
+    public void onKeyspaceAdded(KeyspaceMetadata keyspace) {
+    }
+
+    @Override
+    public void onKeyspaceRemoved(KeyspaceMetadata keyspace) {
+        invalidateKeyspace(keyspace.getName());
+    }
+
+    @Override
+    public void onKeyspaceChanged(KeyspaceMetadata current, KeyspaceMetadata previous) {
+    }
+
+    @Override
+    public void onTableAdded(TableMetadata table) {
+    }
+
+    @Override
+    public void onTableRemoved(TableMetadata table) {
+        invalidate(table.getKeyspace().getName(), table.getName());
+    }
+
+    @Override
+    public void onTableChanged(TableMetadata current, TableMetadata previous) {
+        invalidate(current.getKeyspace().getName(), current.getName());
+    }
+
+    @Override
+    public void onUserTypeAdded(UserType type) {
+    }
+
+    @Override
+    public void onUserTypeRemoved(UserType type) {
+    }
+
+    @Override
+    public void onUserTypeChanged(UserType current, UserType previous) {
+        invalidations.incrementAndGet();
+        descriptors.clear();
+    }
+
+    @Override
+    public void onRegister(Cluster cluster) {
+    }
+
+    @Override
+    public void onUnregister(Cluster cluster) {
+    }
+}
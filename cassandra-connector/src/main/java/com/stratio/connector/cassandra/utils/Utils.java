@@ -18,26 +18,41 @@
 
 package com.stratio.connector.cassandra.utils;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.log4j.Logger;
 
 import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.ConsistencyLevel;
 import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.ProtocolVersion;
 import com.datastax.driver.core.Row;
 import com.datastax.driver.core.Session;
-import com.stratio.crossdata.common.data.Cell;
+import com.google.common.net.InetAddresses;
 import com.stratio.crossdata.common.data.ColumnName;
 import com.stratio.crossdata.common.data.ResultSet;
-import com.stratio.crossdata.common.metadata.ColumnMetadata;
+import com.stratio.crossdata.common.exceptions.ExecutionException;
 import com.stratio.crossdata.common.metadata.ColumnType;
+import com.stratio.crossdata.common.statements.structures.BooleanSelector;
 import com.stratio.crossdata.common.statements.structures.ColumnSelector;
+import com.stratio.crossdata.common.statements.structures.FloatingPointSelector;
+import com.stratio.crossdata.common.statements.structures.IntegerSelector;
 import com.stratio.crossdata.common.statements.structures.Selector;
+import com.stratio.crossdata.common.statements.structures.StringSelector;
 
 /**
  * Utils Class that implements a utility helper for Cassandra Connector.
@@ -48,70 +63,6 @@ public class Utils {
      * Class logger.
      */
     private static final Logger LOG = Logger.getLogger(Utils.class);
-    /**
-     * Map of methods required to transform a {@link com.datastax.driver.core.DataType} into the
-     * corresponding object.
-     */
-    private static Map<String, Method> transformations = new HashMap<>();
-
-    static {
-        try {
-            transformations
-                    .put(DataType.ascii().toString(), Row.class.getMethod("getString", String.class));
-            transformations
-                    .put(DataType.text().toString(), Row.class.getMethod("getString", String.class));
-            transformations
-                    .put(DataType.varchar().toString(), Row.class.getMethod("getString", String.class));
-            transformations
-                    .put(DataType.bigint().toString(), Row.class.getMethod("getLong", String.class));
-            transformations
-                    .put(DataType.counter().toString(), Row.class.getMethod("getLong", String.class));
-            transformations
-                    .put(DataType.cboolean().toString(), Row.class.getMethod("getBool", String.class));
-            transformations
-                    .put(DataType.blob().toString(), Row.class.getMethod("getBytes", String.class));
-            transformations
-                    .put(DataType.decimal().toString(),
-                            Row.class.getMethod("getDecimal", String.class));
-            transformations
-                    .put(DataType.cdouble().toString(), Row.class.getMethod("getDouble", String.class));
-            transformations
-                    .put(DataType.cfloat().toString(), Row.class.getMethod("getFloat", String.class));
-            transformations
-                    .put(DataType.inet().toString(), Row.class.getMethod("getInet", String.class));
-            transformations
-                    .put(DataType.cint().toString(), Row.class.getMethod("getInt", String.class));
-            transformations
-                    .put(DataType.timestamp().toString(), Row.class.getMethod("getDate", String.class));
-            transformations
-                    .put(DataType.uuid().toString(), Row.class.getMethod("getUUID", String.class));
-            transformations
-                    .put(DataType.timeuuid().toString(), Row.class.getMethod("getUUID", String.class));
-            transformations
-                    .put(DataType.varint().toString(), Row.class.getMethod("getVarint", String.class));
-
-        } catch (NoSuchMethodException e) {
-            LOG.error("Cannot create transformation map", e);
-        }
-    }
-
-    /**
-     * Get a {@link com.stratio.crossdata.common.data.Cell} with the column contents of a Row.
-     *
-     * @param type       The {@link com.datastax.driver.core.DataType} of the column.
-     * @param r          The row that contains the column.
-     * @param columnName The column name.
-     * @return A {@link com.stratio.crossdata.common.data.Cell} with the contents.
-     * @throws java.lang.reflect.InvocationTargetException If the required method cannot be invoked.
-     * @throws IllegalAccessException                      If the method cannot be accessed.
-     */
-    protected Cell getCell(DataType type, Row r, String columnName)
-            throws InvocationTargetException, IllegalAccessException {
-        Method m = transformations.get(type.toString());
-        Object value = m.invoke(r, columnName);
-        return new Cell(value);
-    }
-
     /**
      * Transforms a Cassandra {@link com.datastax.driver.core.ResultSet} into a {@link
      * com.stratio.crossdata.common.data.ResultSet}.
@@ -122,75 +73,38 @@ public class Utils {
      */
     public com.stratio.crossdata.common.data.ResultSet transformToMetaResultSet(
             com.datastax.driver.core.ResultSet resultSet, Map<Selector, String> alias) {
-        ResultSet crs = new ResultSet();
-
-        CassandraMetadataHelper helper = new CassandraMetadataHelper();
-
-        //Get the columns in order
-        List<ColumnDefinitions.Definition> definitions = resultSet.getColumnDefinitions().asList();
-        List<ColumnMetadata> columnList =
-                new ArrayList<>();
-        ColumnMetadata columnMetadata = null;
-        //Obtain the metadata associated with the columns.
-        for (ColumnDefinitions.Definition def : definitions) {
-            //Insert the alias if exists
-            ColumnName columnName = new ColumnName(def.getKeyspace(), def.getTable(), def.getName());
-            ColumnType type;
-            if (def.getType().getName().toString().equalsIgnoreCase("list")){
-                String innerType=def.getType().getTypeArguments().get(0).getName().toString();
-                type = helper.toColumnType(def.getType().getName().toString(), innerType);
-            }else{
-                type = helper.toColumnType(def.getType().getName().toString());
-            }
-
-            ColumnName cassandraColumnName = new ColumnName(def.getKeyspace(), def.getTable(), def.getName());
-            for (Map.Entry<Selector, String> entry : alias.entrySet()) {
-                if (entry.getKey().getColumnName().getQualifiedName().equals(cassandraColumnName.getQualifiedName())) {
-                    columnMetadata = new ColumnMetadata(columnName, null, type);
-                    columnMetadata.getName().setAlias(entry.getValue());
-                    break;
-                } else {
-                    columnMetadata = new ColumnMetadata(columnName, null, type);
-                }
-            }
-            columnList.add(columnMetadata);
+        ProjectionPlan plan = new ProjectionPlan(resultSet.getColumnDefinitions().asList(), alias);
+        ResultSet crs = transformPagingToMetaResultSet(plan, Collections.<Row>emptyList());
+        for (Row row : resultSet) {
+            crs.add(plan.project(row));
         }
-        crs.setColumnMetadata(columnList);
+        return crs;
+    }
 
-        try {
-            for (Row row : resultSet.all()) {
-                com.stratio.crossdata.common.data.Row metaRow = new com.stratio.crossdata.common.data.Row();
-                for (ColumnDefinitions.Definition def : definitions) {
-                    if (def.getName().toLowerCase().startsWith("stratio")) {
-                        continue;
-                    }
-                    Cell metaCell;
-                    if (def.getType().getName().toString().equalsIgnoreCase("list")){
-                        metaCell=new Cell(row.getList(def.getName(),def.getType().getTypeArguments().get(0)
-                                .asJavaClass())
-                                .toString());
-                    }else{
-                        metaCell = getCell(def.getType(), row, def.getName());
-                    }
-                    ColumnName cassandraColumnName = new ColumnName(def.getKeyspace(), def.getTable(), def.getName());
-                    boolean findIt = false;
-                    for (Map.Entry<Selector, String> entry : alias.entrySet()) {
-                        if (entry.getKey().getColumnName().getQualifiedName()
-                                .equals(cassandraColumnName.getQualifiedName())) {
-                            metaRow.addCell(entry.getValue(), metaCell);
-                            findIt = true;
-                            break;
-                        }
-                    }
-                    if (!findIt) {
-                        metaRow.addCell(def.getName(), metaCell);
-                    }
+    /**
+     * Transforms the rows of a Cassandra query into a {@link com.stratio.crossdata.common.data.ResultSet} while they
+     * are fetched, failing as soon as the estimated size of the result exceeds a memory budget.
+     *
+     * @param plan         The projection plan of the rows.
+     * @param rows         The rows of the query.
+     * @param memoryBudget The maximum number of bytes of the result, 0 for no limit.
+     * @return An equivalent Meta ResultSet.
+     * @throws ExecutionException If the result exceeds the memory budget.
+     */
+    public com.stratio.crossdata.common.data.ResultSet transformToMetaResultSet(ProjectionPlan plan,
+            Iterator<Row> rows, long memoryBudget) throws ExecutionException {
+        ResultSet crs = transformPagingToMetaResultSet(plan, Collections.<Row>emptyList());
+        long size = 0;
+        while (rows.hasNext()) {
+            Row row = rows.next();
+            if (memoryBudget > 0) {
+                size += plan.estimateSize(row);
+                if (size > memoryBudget) {
+                    throw new ExecutionException("The result of the query exceeds the memory budget of "
+                            + memoryBudget + " bytes, use a paged query or a lower limit");
                 }
-                crs.add(metaRow);
             }
-        } catch (InvocationTargetException | IllegalAccessException e) {
-            LOG.error("Cannot transform result set", e);
-            crs = new ResultSet();
+            crs.add(plan.project(row));
         }
         return crs;
     }
@@ -204,59 +118,22 @@ public class Utils {
      */
     public com.stratio.crossdata.common.data.ResultSet transformPagingToMetaResultSet(
             List<ColumnDefinitions.Definition> definitions, List<Row> rows, Map<Selector, String> alias) {
-        ResultSet crs = new ResultSet();
-
-        CassandraMetadataHelper helper = new CassandraMetadataHelper();
-
-        List<ColumnMetadata> columnList = new ArrayList<>();
-        ColumnMetadata columnMetadata = null;
-        //Obtain the metadata associated with the columns.
-        for (ColumnDefinitions.Definition def : definitions) {
-            //Insert the alias if exists
-
-            ColumnName columnName = new ColumnName(def.getKeyspace(), def.getTable(), def.getName());
-            ColumnType type = helper.toColumnType(def.getType().getName().toString());
-            ColumnName cassandraColumnName = new ColumnName(def.getKeyspace(), def.getTable(), def.getName());
-            for (Map.Entry<Selector, String> entry : alias.entrySet()) {
-                if (entry.getKey().getColumnName().getQualifiedName().equals(cassandraColumnName.getQualifiedName())) {
-                    columnMetadata = new ColumnMetadata(columnName, null, type);
-                    columnMetadata.getName().setAlias(entry.getValue());
-                    break;
-                } else {
-                    columnMetadata = new ColumnMetadata(columnName, null, type);
-                }
-            }
-            columnList.add(columnMetadata);
-        }
-        crs.setColumnMetadata(columnList);
+        return transformPagingToMetaResultSet(new ProjectionPlan(definitions, alias), rows);
+    }
 
-        try {
-            for (Row row : rows) {
-                com.stratio.crossdata.common.data.Row metaRow = new com.stratio.crossdata.common.data.Row();
-                for (ColumnDefinitions.Definition def : definitions) {
-                    if (def.getName().toLowerCase().startsWith("stratio")) {
-                        continue;
-                    }
-                    Cell metaCell = getCell(def.getType(), row, def.getName());
-                    ColumnName cassandraColumnName = new ColumnName(def.getKeyspace(), def.getTable(), def.getName());
-                    boolean findIt = false;
-                    for (Map.Entry<Selector, String> entry : alias.entrySet()) {
-                        if (entry.getKey().getColumnName().getQualifiedName()
-                                .equals(cassandraColumnName.getQualifiedName())) {
-                            metaRow.addCell(entry.getValue(), metaCell);
-                            findIt = true;
-                            break;
-                        }
-                    }
-                    if (!findIt) {
-                        metaRow.addCell(def.getName(), metaCell);
-                    }
-                }
-                crs.add(metaRow);
-            }
-        } catch (InvocationTargetException | IllegalAccessException e) {
-            LOG.error("Cannot transform result set", e);
-            crs = new ResultSet();
+    /**
+     * Transforms a page of Cassandra rows into a {@link com.stratio.crossdata.common.data.ResultSet}.
+     *
+     * @param plan The projection plan of the result set the rows belong to.
+     * @param rows The rows of the page.
+     * @return An equivalent Meta ResultSet.
+     */
+    public com.stratio.crossdata.common.data.ResultSet transformPagingToMetaResultSet(ProjectionPlan plan,
+            List<Row> rows) {
+        ResultSet crs = new ResultSet();
+        crs.setColumnMetadata(new ArrayList<>(plan.getColumnMetadata()));
+        for (Row row : rows) {
+            crs.add(plan.project(row));
         }
         return crs;
     }
@@ -319,16 +196,177 @@ public class Utils {
         return columnType;
     }
 
+    /**
+     * Get the value of a connector property.
+     *
+     * @param properties   The connector properties of a cluster.
+     * @param name         The name of the property.
+     * @param defaultValue The value when the property is not defined.
+     * @return The value of the property.
+     */
+    public static String getProperty(List<Pair<String, String>> properties, String name, String defaultValue) {
+        if (properties != null) {
+            for (Pair<String, String> property : properties) {
+                if (property.getLeft().equals(name) && property.getRight() != null) {
+                    return property.getRight().trim();
+                }
+            }
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Get the integer value of a connector property.
+     *
+     * @param properties   The connector properties of a cluster.
+     * @param name         The name of the property.
+     * @param defaultValue The value when the property is not defined or it is not a number.
+     * @return The value of the property.
+     */
+    public static int getIntProperty(List<Pair<String, String>> properties, String name, int defaultValue) {
+        String value = getProperty(properties, name, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException nfe) {
+            LOG.warn("Invalid value " + value + " for property " + name + ", using " + defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Get the long value of a connector property.
+     *
+     * @param properties   The connector properties of a cluster.
+     * @param name         The name of the property.
+     * @param defaultValue The value when the property is not defined or it is not a number.
+     * @return The value of the property.
+     */
+    public static long getLongProperty(List<Pair<String, String>> properties, String name, long defaultValue) {
+        String value = getProperty(properties, name, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException nfe) {
+            LOG.warn("Invalid value " + value + " for property " + name + ", using " + defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Get the double value of a connector property.
+     *
+     * @param properties   The connector properties of a cluster.
+     * @param name         The name of the property.
+     * @param defaultValue The value when the property is not defined or it is not a number.
+     * @return The value of the property.
+     */
+    public static double getDoubleProperty(List<Pair<String, String>> properties, String name, double defaultValue) {
+        String value = getProperty(properties, name, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException nfe) {
+            LOG.warn("Invalid value " + value + " for property " + name + ", using " + defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Get the boolean value of a connector property.
+     *
+     * @param properties   The connector properties of a cluster.
+     * @param name         The name of the property.
+     * @param defaultValue The value when the property is not defined or it is not a boolean.
+     * @return The value of the property.
+     */
+    public static boolean getBooleanProperty(List<Pair<String, String>> properties, String name,
+            boolean defaultValue) {
+        String value = getProperty(properties, name, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        if ("true".equalsIgnoreCase(value) || "false".equalsIgnoreCase(value)) {
+            return Boolean.parseBoolean(value);
+        }
+        LOG.warn("Invalid value " + value + " for property " + name + ", using " + defaultValue);
+        return defaultValue;
+    }
+
+    /**
+     * Get the consistency level of a connector property.
+     *
+     * @param properties The connector properties of a cluster.
+     * @param name       The name of the property.
+     * @return The {@link com.datastax.driver.core.ConsistencyLevel} or null if the property is not defined or it is not
+     * a consistency level.
+     */
+    public static ConsistencyLevel getConsistencyProperty(List<Pair<String, String>> properties, String name) {
+        String value = getProperty(properties, name, null);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return ConsistencyLevel.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException iae) {
+            LOG.warn("Invalid value " + value + " for property " + name + ", using the default consistency");
+            return null;
+        }
+    }
+
+    /**
+     * Get the serial consistency level of a connector property.
+     *
+     * @param properties The connector properties of a cluster.
+     * @param name       The name of the property.
+     * @return {@link com.datastax.driver.core.ConsistencyLevel#SERIAL},
+     * {@link com.datastax.driver.core.ConsistencyLevel#LOCAL_SERIAL} or null if the property is not defined or it is
+     * not a serial consistency level.
+     */
+    public static ConsistencyLevel getSerialConsistencyProperty(List<Pair<String, String>> properties,
+            String name) {
+        ConsistencyLevel consistency = getConsistencyProperty(properties, name);
+        if (consistency == null || consistency == ConsistencyLevel.SERIAL
+                || consistency == ConsistencyLevel.LOCAL_SERIAL) {
+            return consistency;
+        }
+        LOG.warn("Invalid value " + consistency + " for property " + name
+                + ", it must be SERIAL or LOCAL_SERIAL. Using the default serial consistency");
+        return null;
+    }
+
     public static String toCaseSensitive(String s) {
         return "\"" + s + "\"";
     }
 
+    /**
+     * Get the type of the column of a selector from the cached descriptor of its table.
+     *
+     * @param column  The column.
+     * @param session The Cassandra session.
+     * @return The {@link com.datastax.driver.core.DataType} or null if the column does not exist.
+     */
+    public static DataType getColumnType(ColumnSelector column, Session session) {
+        ColumnName columnName = column.getColumnName();
+        return TableDescriptorCache.forSession(session).getColumnType(
+                columnName.getTableName().getCatalogName().getName(), columnName.getTableName().getName(),
+                columnName.getName());
+    }
+
     public static String getFormatType(ColumnSelector left, Selector right, Session session) {
 
-        switch (session.getCluster().getMetadata().getKeyspace(Utils.toCaseSensitive(left.getColumnName().getTableName()
-                .getCatalogName().getName())).getTable(
-                Utils.toCaseSensitive(left.getColumnName().getTableName().getName())).getColumn
-                (Utils.toCaseSensitive(left.getColumnName().getName())).getType().getName()) {
+        DataType type = getColumnType(left, session);
+        if (type == null) {
+            //Unknown column, reported by Cassandra
+            return right.toString();
+        }
+        switch (type.getName()) {
 
         case ASCII:
         case BIGINT:
@@ -358,6 +396,223 @@ public class Utils {
         return null;
     }
 
+    /**
+     * Get the Java value that must be bound to a relation of a prepared statement according to the Cassandra type
+     * of its column.
+     *
+     * @param left    The column of the relation.
+     * @param right   The value of the relation.
+     * @param session The Cassandra session.
+     * @return The value to bind or null if the value must be inlined in the query.
+     */
+    public static Object getBindValue(ColumnSelector left, Selector right, Session session) {
+        DataType columnType = getColumnType(left, session);
+        if (columnType == null) {
+            return null;
+        }
+        DataType.Name type = columnType.getName();
+
+        if (right instanceof IntegerSelector) {
+            long value = ((IntegerSelector) right).getValue();
+            switch (type) {
+            case INT:
+                //Out of range values are inlined so that Cassandra rejects them instead of reading another value
+                if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+                    return null;
+                }
+                return (int) value;
+            case BIGINT:
+            case COUNTER:
+                return value;
+            case VARINT:
+                return BigInteger.valueOf(value);
+            case DOUBLE:
+                return (double) value;
+            case FLOAT:
+                return (float) value;
+            case DECIMAL:
+                return BigDecimal.valueOf(value);
+            default:
+                return null;
+            }
+        } else if (right instanceof FloatingPointSelector) {
+            double value = ((FloatingPointSelector) right).getValue();
+            switch (type) {
+            case DOUBLE:
+                return value;
+            case FLOAT:
+                return (float) value;
+            case DECIMAL:
+                return BigDecimal.valueOf(value);
+            default:
+                return null;
+            }
+        } else if (right instanceof BooleanSelector && type == DataType.Name.BOOLEAN) {
+            return ((BooleanSelector) right).getValue();
+        } else if (right instanceof StringSelector) {
+            String value = ((StringSelector) right).getValue();
+            switch (type) {
+            case ASCII:
+            case TEXT:
+            case VARCHAR:
+                return value;
+            case UUID:
+            case TIMEUUID:
+                try {
+                    return UUID.fromString(value);
+                } catch (IllegalArgumentException iae) {
+                    return null;
+                }
+            default:
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the version of the native protocol used by a session, needed to serialize values outside of a statement.
+     *
+     * @param session Cassandra datastax java driver session.
+     * @return The {@link com.datastax.driver.core.ProtocolVersion}.
+     */
+    public static ProtocolVersion getProtocolVersion(Session session) {
+        return session.getCluster().getConfiguration().getProtocolOptions().getProtocolVersionEnum();
+    }
+
+    /**
+     * Whether the driver of a session keeps the schema metadata of the cluster. Without it the connector resolves the
+     * tables from the system tables and the token map of the cluster is not known.
+     *
+     * @param session Cassandra datastax java driver session.
+     * @return true if the schema metadata is enabled.
+     */
+    public static boolean isSchemaMetadataEnabled(Session session) {
+        return session.getCluster().getConfiguration().getQueryOptions().isMetadataEnabled();
+    }
+
+    /**
+     * Convert the value of a Crossdata cell into the Java value that must be bound to a variable of a prepared
+     * statement of the given Cassandra type.
+     *
+     * @param value The value of the cell.
+     * @param type  The Cassandra type of the variable.
+     * @return The value to bind.
+     * @throws IllegalArgumentException If the value cannot be bound, e.g. it is a function call, and must be inlined
+     *                                  in the query.
+     */
+    public static Object toBindValue(Object value, DataType type) {
+        if (value == null) {
+            return null;
+        }
+        switch (type.getName()) {
+        case ASCII:
+        case TEXT:
+        case VARCHAR:
+            return value.toString();
+        case INT:
+            if (isIntegral(value)) {
+                long longValue = toLong(value);
+                if (longValue < Integer.MIN_VALUE || longValue > Integer.MAX_VALUE) {
+                    throw new IllegalArgumentException("Out of the range of an int: " + value);
+                }
+                return (int) longValue;
+            }
+            return Integer.valueOf(value.toString().trim());
+        case BIGINT:
+        case COUNTER:
+            return isIntegral(value) ? toLong(value) : Long.valueOf(value.toString().trim());
+        case VARINT:
+            if (value instanceof BigInteger) {
+                return value;
+            }
+            return isIntegral(value) ? BigInteger.valueOf(((Number) value).longValue())
+                    : new BigInteger(value.toString().trim());
+        case FLOAT:
+            return toFloat(value instanceof Number ? ((Number) value).doubleValue()
+                    : Double.valueOf(value.toString().trim()));
+        case DOUBLE:
+            return value instanceof Number ? ((Number) value).doubleValue() : Double.valueOf(value.toString().trim());
+        case DECIMAL:
+            return value instanceof BigDecimal ? value : new BigDecimal(value.toString().trim());
+        case BOOLEAN:
+            if (value instanceof Boolean) {
+                return value;
+            }
+            String bool = value.toString().trim();
+            if ("true".equalsIgnoreCase(bool) || "false".equalsIgnoreCase(bool)) {
+                return Boolean.valueOf(bool);
+            }
+            throw new IllegalArgumentException("Not a boolean: " + value);
+        case UUID:
+        case TIMEUUID:
+            return value instanceof UUID ? value : UUID.fromString(value.toString().trim());
+        case TIMESTAMP:
+            if (value instanceof Date) {
+                return value;
+            } else if (isIntegral(value)) {
+                return new Date(((Number) value).longValue());
+            }
+            throw new IllegalArgumentException("Not a timestamp: " + value);
+        case INET:
+            return value instanceof InetAddress ? value : InetAddresses.forString(value.toString().trim());
+        case BLOB:
+            if (value instanceof ByteBuffer) {
+                return value;
+            }
+            throw new IllegalArgumentException("Not a blob: " + value);
+        case LIST:
+            if (value instanceof List) {
+                List<Object> list = new ArrayList<>();
+                for (Object element : (List<?>) value) {
+                    list.add(toBindValue(element, type.getTypeArguments().get(0)));
+                }
+                return list;
+            }
+            throw new IllegalArgumentException("Not a list: " + value);
+        case SET:
+            if (value instanceof Set) {
+                Set<Object> set = new LinkedHashSet<>();
+                for (Object element : (Set<?>) value) {
+                    set.add(toBindValue(element, type.getTypeArguments().get(0)));
+                }
+                return set;
+            }
+            throw new IllegalArgumentException("Not a set: " + value);
+        case MAP:
+            if (value instanceof Map) {
+                Map<Object, Object> map = new LinkedHashMap<>();
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                    map.put(toBindValue(entry.getKey(), type.getTypeArguments().get(0)),
+                            toBindValue(entry.getValue(), type.getTypeArguments().get(1)));
+                }
+                return map;
+            }
+            throw new IllegalArgumentException("Not a map: " + value);
+        default:
+            throw new IllegalArgumentException("Cannot bind a value of type " + type);
+        }
+    }
+
+    private static long toLong(Object value) {
+        if (value instanceof BigInteger && ((BigInteger) value).bitLength() > 63) {
+            throw new IllegalArgumentException("Out of the range of a bigint: " + value);
+        }
+        return ((Number) value).longValue();
+    }
+
+    private static float toFloat(double value) {
+        if (!Double.isInfinite(value) && Math.abs(value) > Float.MAX_VALUE) {
+            throw new IllegalArgumentException("Out of the range of a float: " + value);
+        }
+        return (float) value;
+    }
+
+    private static boolean isIntegral(Object value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte
+                || value instanceof BigInteger;
+    }
+
     public static com.stratio.crossdata.common.metadata.DataType getDataTypeFromString(String fieldType) {
         switch (fieldType.toUpperCase()) {
         case "ASCII":
@@ -0,0 +1,157 @@
+/*
+ * Licensed to STRATIO (C) under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  The STRATIO (C) licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.stratio.connector.cassandra;
+
+import java.util.concurrent.TimeUnit;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.WriteType;
+import com.datastax.driver.core.exceptions.WriteTimeoutException;
+
+/**
+ * Offline test of the adjustment of the adaptive write throttle: it does not need any Cassandra cluster.
+ */
+public class WriteThrottleIT {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private static final double DELTA = 1e-9;
+
+    @Test
+    public void slowDownHalvesTheRates() {
+        WriteThrottle throttle = new WriteThrottle(1000, 0, true, 100);
+        long now = System.nanoTime() + SECOND;
+        throttle.adjust(true, now);
+        Assert.assertEquals(throttle.getFactor(), 0.5, DELTA, "The rates must be halved");
+        throttle.adjust(true, now + 2 * SECOND);
+        Assert.assertEquals(throttle.getFactor(), 0.25, DELTA, "The rates must be halved again");
+    }
+
+    @Test
+    public void adjustedOncePerSecond() {
+        WriteThrottle throttle = new WriteThrottle(1000, 1000, true, 100);
+        long now = System.nanoTime() + SECOND;
+        throttle.adjust(true, now);
+        throttle.adjust(true, now + SECOND / 2);
+        throttle.adjust(false, now + SECOND / 2);
+        Assert.assertEquals(throttle.getFactor(), 0.5, DELTA, "A burst of slow writes must cut the rates once");
+        throttle.adjust(true, now + SECOND);
+        Assert.assertEquals(throttle.getFactor(), 0.25, DELTA);
+    }
+
+    @Test
+    public void slowDownHasAFloor() {
+        WriteThrottle throttle = new WriteThrottle(1000, 0, true, 100);
+        long now = System.nanoTime();
+        for (int i = 1; i <= 10; i++) {
+            throttle.adjust(true, now + i * SECOND);
+        }
+        Assert.assertEquals(throttle.getFactor(), 0.05, DELTA, "The rates must not drop under 5%");
+    }
+
+    @Test
+    public void recoversGradually() {
+        WriteThrottle throttle = new WriteThrottle(1000, 0, true, 100);
+        long now = System.nanoTime() + SECOND;
+        throttle.adjust(true, now);
+        throttle.adjust(false, now + SECOND);
+        Assert.assertEquals(throttle.getFactor(), 0.55, DELTA, "The rates must recover in steps of 5%");
+        for (int i = 2; i <= 20; i++) {
+            throttle.adjust(false, now + i * SECOND);
+        }
+        Assert.assertEquals(throttle.getFactor(), 1, DELTA, "The rates must not exceed the configured ones");
+    }
+
+    @Test
+    public void recoveryAtFullRateDoesNotDelayASlowDown() {
+        WriteThrottle throttle = new WriteThrottle(1000, 0, true, 100);
+        long now = System.nanoTime() + SECOND;
+        throttle.adjust(false, now);
+        throttle.adjust(true, now + SECOND / 10);
+        Assert.assertEquals(throttle.getFactor(), 0.5, DELTA);
+    }
+
+    @Test
+    public void recoveryStepDoesNotDelayASlowDown() {
+        WriteThrottle throttle = new WriteThrottle(1000, 0, true, 100);
+        long now = System.nanoTime() + SECOND;
+        throttle.adjust(true, now);
+        throttle.adjust(false, now + SECOND);
+        Assert.assertEquals(throttle.getFactor(), 0.55, DELTA);
+        throttle.adjust(true, now + SECOND + SECOND / 10);
+        Assert.assertEquals(throttle.getFactor(), 0.275, DELTA, "A slowdown must apply right after a recovery step");
+        throttle.adjust(false, now + SECOND + SECOND / 2);
+        Assert.assertEquals(throttle.getFactor(), 0.275, DELTA, "A slowdown must delay the next recovery step");
+    }
+
+    @Test
+    public void notAdaptive() throws InterruptedException {
+        WriteThrottle throttle = new WriteThrottle(1000, 0, false, 100);
+        Thread.sleep(TimeUnit.NANOSECONDS.toMillis(SECOND) + 100);
+        throttle.onSuccess(10 * SECOND);
+        throttle.onFailure(new WriteTimeoutException(ConsistencyLevel.ONE, WriteType.SIMPLE, 0, 1));
+        Assert.assertEquals(throttle.getFactor(), 1, DELTA, "A throttle that is not adaptive must keep its rates");
+    }
+
+    @Test
+    public void onlyWriteTimeoutsSlowDown() throws InterruptedException {
+        WriteThrottle throttle = new WriteThrottle(1000, 0, true, 100);
+        Thread.sleep(TimeUnit.NANOSECONDS.toMillis(SECOND) + 100);
+        throttle.onFailure(new RuntimeException("Unavailable"));
+        Assert.assertEquals(throttle.getFactor(), 1, DELTA, "Only the write timeouts must slow the writes down");
+        throttle.onFailure(new RuntimeException(new WriteTimeoutException(ConsistencyLevel.ONE, WriteType.BATCH,
+                0, 1)));
+        Assert.assertEquals(throttle.getFactor(), 0.5, DELTA, "A wrapped write timeout must slow the writes down");
+    }
+
+    @Test
+    public void slowWritesSlowDown() throws InterruptedException {
+        WriteThrottle throttle = new WriteThrottle(0, 1000, true, 100);
+        Thread.sleep(TimeUnit.NANOSECONDS.toMillis(SECOND) + 100);
+        throttle.onSuccess(TimeUnit.MILLISECONDS.toNanos(50));
+        Assert.assertEquals(throttle.getFactor(), 1, DELTA, "A fast write at full rate must not change the rates");
+        throttle.onSuccess(TimeUnit.MILLISECONDS.toNanos(200));
+        Assert.assertEquals(throttle.getFactor(), 0.5, DELTA, "A write over the latency threshold must slow down");
+    }
+
+    @Test
+    public void acquireWithinRate() {
+        WriteThrottle throttle = new WriteThrottle(1000, 1000000, false, 100);
+        long start = System.nanoTime();
+        for (int i = 0; i < 100; i++) {
+            throttle.acquire(1, 100);
+        }
+        Assert.assertTrue(System.nanoTime() - start < SECOND, "100 rows at 1000 rows/s must not take a second");
+    }
+
+    @Test
+    public void acquirePacesTheRows() {
+        WriteThrottle throttle = new WriteThrottle(100, 0, false, 100);
+        long start = System.nanoTime();
+        for (int i = 0; i < 6; i++) {
+            throttle.acquire(10, 0);
+        }
+        Assert.assertTrue(System.nanoTime() - start >= 2 * SECOND / 5,
+                "60 rows at 100 rows/s must take about half a second");
+    }
+}
@@ -30,6 +30,7 @@ import com.datastax.driver.core.KeyspaceMetadata;
 import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Session;
 import com.stratio.connector.cassandra.BasicCoreCassandra;
+import com.stratio.connector.cassandra.utils.TableDescriptorCache;
 import com.stratio.connector.cassandra.utils.Utils;
 import com.stratio.crossdata.common.data.AlterOperation;
 import com.stratio.crossdata.common.data.AlterOptions;
@@ -593,6 +594,8 @@ public class CassandraMetadataEngineIT extends BasicCoreCassandra {
         Assert.assertNotEquals(assertIndex("age", "demoMetadata12", "users14"), "Indice3");
 
         //drop table
+        TableDescriptorCache cache = TableDescriptorCache.forSession(_session);
+        Assert.assertNotNull(cache.get("demoMetadata12", "users14"), "The table must be described before the drop");
         int rowsInitial = assertTable("demoMetadata12");
         cme = new CassandraMetadataEngine(sessions);
         int rowsFinal = rowsInitial;
@@ -603,6 +606,7 @@ public class CassandraMetadataEngineIT extends BasicCoreCassandra {
             Assert.fail(e.getMessage());
         }
         Assert.assertNotEquals(rowsInitial, rowsFinal);
+        Assert.assertNull(cache.get("demoMetadata12", "users14"), "The dropped table must not be described");
 
         //drop catalog
         rowsInitial = assertCatalog();
@@ -746,12 +750,16 @@ public class CassandraMetadataEngineIT extends BasicCoreCassandra {
         ColumnMetadata columnMetadata=new ColumnMetadata(new ColumnName(new TableName("demoMetadata13", "users9"),
                 "other"), parameters, new ColumnType(DataType.VARCHAR));
         AlterOptions alterOptions=new AlterOptions(AlterOperation.ADD_COLUMN,null,columnMetadata);
+        TableDescriptorCache cache = TableDescriptorCache.forSession(_session);
+        Assert.assertNull(cache.getColumnType("demoMetadata13", "users9", "other"));
         try {
             cme.alterTable(new ClusterName("cluster"),new TableName("demoMetadata13", "users9"),alterOptions);
             Assert.assertTrue(true);
         } catch (ConnectorException e) {
             Assert.fail(e.getMessage());
         }
+        Assert.assertEquals(cache.getColumnType("demoMetadata13", "users9", "other"),
+                com.datastax.driver.core.DataType.text(), "The cached descriptor must include the new column");
 
     }
 
@@ -764,12 +772,16 @@ public class CassandraMetadataEngineIT extends BasicCoreCassandra {
         ColumnMetadata columnMetadata=new ColumnMetadata(new ColumnName(new TableName("demoMetadata8", "users9"),
                 "bool"), parameters, new ColumnType(DataType.VARCHAR));
         AlterOptions alterOptions=new AlterOptions(AlterOperation.DROP_COLUMN,null,columnMetadata);
+        TableDescriptorCache cache = TableDescriptorCache.forSession(_session);
+        Assert.assertNotNull(cache.getColumnType("demoMetadata8", "users9", "bool"));
         try {
             cme.alterTable(new ClusterName("cluster"),new TableName("demoMetadata8", "users9"),alterOptions);
             Assert.assertTrue(true);
         } catch (ConnectorException e) {
             Assert.fail(e.getMessage());
         }
+        Assert.assertNull(cache.getColumnType("demoMetadata8", "users9", "bool"),
+                "The cached descriptor must not include the dropped column");
     }
 
     @Test
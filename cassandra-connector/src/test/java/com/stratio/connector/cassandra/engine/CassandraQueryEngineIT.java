@@ -22,12 +22,15 @@ import static org.testng.Assert.assertNotEquals;
 import static org.testng.Assert.assertTrue;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
@@ -36,8 +39,10 @@ import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Session;
 import com.stratio.connector.cassandra.BasicCoreCassandra;
+import com.stratio.connector.cassandra.CassandraExecutor;
 import com.stratio.connector.cassandra.ResultHandler;
 import com.stratio.connector.cassandra.statements.SelectStatement;
 import com.stratio.crossdata.common.connector.IResultHandler;
@@ -48,7 +53,6 @@ import com.stratio.crossdata.common.data.Row;
 import com.stratio.crossdata.common.data.TableName;
 import com.stratio.crossdata.common.exceptions.ConnectorException;
 import com.stratio.crossdata.common.exceptions.ExecutionException;
-import com.stratio.crossdata.common.exceptions.UnsupportedException;
 import com.stratio.crossdata.common.logicalplan.Filter;
 import com.stratio.crossdata.common.logicalplan.Limit;
 import com.stratio.crossdata.common.logicalplan.LogicalStep;
@@ -156,6 +160,13 @@ public class CassandraQueryEngineIT extends BasicCoreCassandra {
                 "SELECT \"name\" FROM \"cassandra_connector_demo\".\"users\" WHERE \"name\" = 'name_5' AND \"gender\" = 'female' LIMIT 100",
                 "The select statement not match with the expected value");
 
+        assertEquals(ss.parseQueryTemplate(),
+                "SELECT \"name\" FROM \"cassandra_connector_demo\".\"users\" WHERE \"name\" = ? AND \"gender\" = ? LIMIT 100",
+                "The select template not match with the expected value");
+        assertTrue(ss.isPreparable(), "The select should be preparable");
+        assertEquals(ss.getBindValues().size(), 2, "The number of bind values not match with the expected value");
+        assertEquals(ss.getBindValues().get(0), "name_5", "The bind value not match with the expected value");
+
     }
 
     @Test
@@ -801,12 +812,23 @@ public class CassandraQueryEngineIT extends BasicCoreCassandra {
     
 
     @Test
-    public void basicSelectAsyncStopTest() {
+    public void basicSelectAsyncStopTest() throws InterruptedException {
+
+        _session.execute("CREATE TABLE IF NOT EXISTS cassandra_connector_demo.stop_scan "
+                + "(id int PRIMARY KEY, name text)");
+        List<ResultSetFuture> inserts = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            inserts.add(_session.executeAsync("INSERT INTO cassandra_connector_demo.stop_scan (id, name) VALUES (?, ?)",
+                    i, "name_" + i));
+        }
+        for (ResultSetFuture insert : inserts) {
+            insert.getUninterruptibly();
+        }
 
         Map<String, Session> sessions = new HashMap<>();
         sessions.put("cluster", this._session);
         List<Pair<String,String>> propertiesList = new ArrayList<>();
-        Pair<String,String> property= new ImmutablePair<>("DefaultLimit", "100");
+        Pair<String,String> property= new ImmutablePair<>("DefaultLimit", "100000");
         propertiesList.add(property);
         Map<String,List<Pair<String,String>>> connectorOptionsPerCluster=new HashMap<>();
         connectorOptionsPerCluster.put("cluster", propertiesList);
@@ -815,18 +837,92 @@ public class CassandraQueryEngineIT extends BasicCoreCassandra {
 
         try {
             cqe.stop("QueryID");
-            Assert.fail();
-        } catch (UnsupportedException e) {
-            Assert.assertTrue(true);
-        } catch (ExecutionException e) {
+        } catch (ConnectorException e) {
             Assert.fail(e.getMessage());
-        }catch (ConnectorException e) {
+        }
+
+        //Results and errors in the order they are received
+        final List<Object> received = Collections.synchronizedList(new ArrayList<Object>());
+        final CountDownLatch firstPage = new CountDownLatch(1);
+        final CountDownLatch stopped = new CountDownLatch(1);
+        IResultHandler resultHandler = new ResultHandler() {
+            @Override
+            public void processException(String queryId, ExecutionException exception) {
+                received.add(exception);
+                stopped.countDown();
+            }
+
+            @Override
+            public void processResult(QueryResult result) {
+                received.add(result);
+                firstPage.countDown();
+                try {
+                    //Slow consumer, so the query is still running when it is stopped
+                    Thread.sleep(10);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        try {
+            cqe.pagedExecute("QueryID", getWorkflow("stop_scan", "name"), resultHandler, 10);
+            assertTrue(firstPage.await(30, TimeUnit.SECONDS), "No page received");
+            cqe.stop("QueryID");
+        } catch (ConnectorException e) {
             Assert.fail(e.getMessage());
         }
+        assertTrue(stopped.await(30, TimeUnit.SECONDS), "The handler has not been notified of the stop");
+        //Give the paging threads the chance to deliver anything after the stop
+        Thread.sleep(500);
+
+        List<Object> events;
+        synchronized (received) {
+            events = new ArrayList<>(received);
+        }
+        int exceptions = 0;
+        for (Object event : events) {
+            if (event instanceof ExecutionException) {
+                exceptions++;
+                assertTrue(((ExecutionException) event).getMessage().contains("has been stopped"),
+                        "Unexpected error: " + ((ExecutionException) event).getMessage());
+            } else {
+                assertTrue(!((QueryResult) event).isLastResultSet(), "The query finished before it was stopped");
+            }
+        }
+        assertEquals(exceptions, 1, "The handler must receive exactly one final notification");
+        assertTrue(events.get(events.size() - 1) instanceof ExecutionException,
+                "No result must be delivered after the stop");
+        assertTrue(!CassandraExecutor.stop("QueryID"), "The stopped query must not be in flight any more");
 
     }
 
 
+    private LogicalWorkflow getWorkflow(String table, String column) {
+        ClusterName targetCluster = new ClusterName("cluster");
+        TableName tableName = new TableName("cassandra_connector_demo", table);
+
+        List<ColumnName> columnList = new ArrayList<>();
+        columnList.add(new ColumnName(tableName, column));
+
+        Set<Operations> operationsSet = new HashSet<>();
+        operationsSet.add(Operations.PROJECT);
+        Project project = new Project(operationsSet, tableName, targetCluster, columnList);
+
+        Map<Selector, String> aliasColumns = new LinkedHashMap<>();
+        aliasColumns.put(new ColumnSelector(new ColumnName("cassandra_connector_demo", table, column)), column);
+        Map<String, ColumnType> typeMap = new HashMap<>();
+        Map<Selector, ColumnType> typeMapFromColumnName = new HashMap<>();
+        typeMap.put("cassandra_connector_demo." + table + "." + column, new ColumnType(DataType.VARCHAR));
+        typeMapFromColumnName.put(new ColumnSelector(new ColumnName("cassandra_connector_demo", table, column)),
+                new ColumnType(DataType.VARCHAR));
+        Select select = new Select(operationsSet, aliasColumns, typeMap, typeMapFromColumnName);
+
+        project.setNextStep(select);
+        List<LogicalStep> logicalSteps = new ArrayList<>();
+        logicalSteps.add(project);
+        return new LogicalWorkflow(logicalSteps);
+    }
+
     @AfterClass
     public void restore() {
         BasicCoreCassandra.dropKeyspaceIfExists("cassandra_connector_demo");
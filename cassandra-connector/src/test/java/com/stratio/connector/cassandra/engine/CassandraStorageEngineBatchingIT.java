@@ -0,0 +1,165 @@
+/*
+ * Licensed to STRATIO (C) under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  The STRATIO (C) licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.stratio.connector.cassandra.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.datastax.driver.core.SimpleStatement;
+import com.datastax.driver.core.Statement;
+import com.stratio.crossdata.common.data.Cell;
+import com.stratio.crossdata.common.data.Row;
+
+/**
+ * Offline test of the grouping of the rows by partition and the splitting of the batches of a multiple insertion:
+ * it does not need any Cassandra cluster.
+ */
+public class CassandraStorageEngineBatchingIT {
+
+    private Row row(int id, String name) {
+        Row row = new Row();
+        row.addCell("id", new Cell(id));
+        row.addCell("name", new Cell(name));
+        return row;
+    }
+
+    private List<Statement> statements(int count, int length) {
+        List<Statement> statements = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            StringBuilder query = new StringBuilder();
+            while (query.length() < length) {
+                query.append('x');
+            }
+            statements.add(new SimpleStatement(query.toString()));
+        }
+        return statements;
+    }
+
+    private List<Integer> sizes(List<List<Statement>> batches) {
+        List<Integer> sizes = new ArrayList<>();
+        for (List<Statement> batch : batches) {
+            sizes.add(batch.size());
+        }
+        return sizes;
+    }
+
+    @Test
+    public void groupRowsByPartitionKey() {
+        Row first = row(1, "a");
+        Row second = row(2, "b");
+        Row third = row(1, "c");
+        Row fourth = row(3, "a");
+        Collection<List<Row>> partitions = CassandraStorageEngine.groupRows(
+                Arrays.asList(first, second, third, fourth), Collections.singletonList("id"));
+
+        Assert.assertEquals(partitions.size(), 3, "One group per partition expected");
+        Iterator<List<Row>> iterator = partitions.iterator();
+        Assert.assertEquals(iterator.next(), Arrays.asList(first, third), "Rows of the first partition expected");
+        Assert.assertEquals(iterator.next(), Collections.singletonList(second));
+        Assert.assertEquals(iterator.next(), Collections.singletonList(fourth));
+    }
+
+    @Test
+    public void groupRowsByCompositePartitionKey() {
+        Row first = row(1, "a");
+        Row second = row(1, "b");
+        Row third = row(1, "a");
+        Collection<List<Row>> partitions = CassandraStorageEngine.groupRows(Arrays.asList(first, second, third),
+                Arrays.asList("id", "name"));
+
+        Assert.assertEquals(partitions.size(), 2, "Rows differing in any column of the key are apart");
+        Assert.assertEquals(partitions.iterator().next(), Arrays.asList(first, third));
+    }
+
+    @Test
+    public void groupRowsWithMissingKeyColumn() {
+        Row first = new Row();
+        first.addCell("name", new Cell("a"));
+        Row second = new Row();
+        second.addCell("name", new Cell("b"));
+        Collection<List<Row>> partitions = CassandraStorageEngine.groupRows(Arrays.asList(first, second),
+                Collections.singletonList("id"));
+
+        Assert.assertEquals(partitions.size(), 1, "Rows without the key column share the null key");
+    }
+
+    @Test
+    public void groupRowsWithUnknownPartitionKey() {
+        List<Row> rows = Arrays.asList(row(1, "a"), row(1, "b"), row(1, "c"));
+        Collection<List<Row>> partitions = CassandraStorageEngine.groupRows(rows,
+                Collections.<String>emptyList());
+
+        Assert.assertEquals(partitions.size(), 3, "Every row must be a group without partition key");
+        for (List<Row> partition : partitions) {
+            Assert.assertEquals(partition.size(), 1);
+        }
+    }
+
+    @Test
+    public void splitBatchesByRows() {
+        List<List<Statement>> batches = CassandraStorageEngine.splitBatches(statements(7, 10), 3, 1000);
+
+        Assert.assertEquals(sizes(batches), Arrays.asList(3, 3, 1), "Batches limited to 3 rows expected");
+    }
+
+    @Test
+    public void splitBatchesByBytes() {
+        List<List<Statement>> batches = CassandraStorageEngine.splitBatches(statements(5, 10), 100, 25);
+
+        Assert.assertEquals(sizes(batches), Arrays.asList(2, 2, 1), "Batches limited to 25 bytes expected");
+        for (List<Statement> batch : batches) {
+            int bytes = 0;
+            for (Statement statement : batch) {
+                bytes += CassandraStorageEngine.estimateSize(statement);
+            }
+            Assert.assertTrue(bytes <= 25, "Batch of " + bytes + " bytes");
+        }
+    }
+
+    @Test
+    public void splitBatchesWithLargeStatement() {
+        List<Statement> partition = statements(1, 10);
+        partition.addAll(statements(1, 100));
+        partition.addAll(statements(1, 10));
+        List<List<Statement>> batches = CassandraStorageEngine.splitBatches(partition, 100, 50);
+
+        Assert.assertEquals(sizes(batches), Arrays.asList(1, 1, 1),
+                "A statement over the size limit must be a batch on its own");
+        Assert.assertSame(batches.get(1).get(0), partition.get(1));
+    }
+
+    @Test
+    public void splitBatchesKeepsOrder() {
+        List<Statement> partition = statements(5, 10);
+        List<Statement> joined = new ArrayList<>();
+        for (List<Statement> batch : CassandraStorageEngine.splitBatches(partition, 2, 1000)) {
+            joined.addAll(batch);
+        }
+        Assert.assertEquals(joined, partition, "All the statements in order expected");
+        Assert.assertTrue(CassandraStorageEngine.splitBatches(new ArrayList<Statement>(), 2, 1000).isEmpty());
+    }
+}
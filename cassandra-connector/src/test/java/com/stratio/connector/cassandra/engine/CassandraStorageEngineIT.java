@@ -19,9 +19,12 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
 import org.testng.Assert;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
@@ -344,6 +347,49 @@ public class CassandraStorageEngineIT extends BasicCoreCassandra {
     }
 
 
+    @Test
+    public void asyncInsertErrorReportedByAnotherEngine() {
+        List<Pair<String, String>> asyncProperties = new ArrayList<>();
+        asyncProperties.add(new ImmutablePair<>("AsyncWrites", "true"));
+        Map<String, List<Pair<String, String>>> properties = new HashMap<>();
+        properties.put("cluster", asyncProperties);
+
+        TableName targetTable = new TableName("cassandra_connector_demo", "users");
+        LinkedHashMap<ColumnName, ColumnMetadata> columns = new LinkedHashMap<>();
+        Object[] parameters = { };
+        columns.put(new ColumnName(targetTable, "name"), new ColumnMetadata(new ColumnName(targetTable, "name"),
+                parameters, new com.stratio.crossdata.common.metadata.ColumnType(DataType.TEXT)));
+        //The age is an int in Cassandra, so the inlined text value is rejected by the server
+        columns.put(new ColumnName(targetTable, "age"), new ColumnMetadata(new ColumnName(targetTable, "age"),
+                parameters, new com.stratio.crossdata.common.metadata.ColumnType(DataType.TEXT)));
+        TableMetadata table = new TableMetadata(targetTable, new HashMap<Selector, Selector>(), columns,
+                new HashMap<IndexName, IndexMetadata>(), new ClusterName("cluster"), new LinkedList<ColumnName>(),
+                new LinkedList<ColumnName>());
+        Row row = new Row();
+        row.addCell("name", new Cell("asyncName"));
+        row.addCell("age", new Cell("not a number"));
+
+        //Crossdata uses a new storage engine for each write
+        try {
+            new CassandraStorageEngine(sessions, properties).insert(new ClusterName("cluster"), table, row, false);
+        } catch (ConnectorException e) {
+            Assert.fail("An asynchronous insert must not report its error: " + e.getMessage());
+        }
+        CassandraStorageEngine other = new CassandraStorageEngine(sessions, properties);
+        try {
+            other.flush(new ClusterName("cluster"));
+            Assert.fail("The error of the asynchronous insert must be reported by another engine");
+        } catch (ConnectorException e) {
+            Assert.assertTrue(e.getMessage() != null && !e.getMessage().isEmpty());
+        }
+        try {
+            other.flush(new ClusterName("cluster"));
+        } catch (ConnectorException e) {
+            Assert.fail("The error must be reported only once: " + e.getMessage());
+        }
+    }
+
+
     @AfterClass
     public void restore() {
         BasicCoreCassandra.dropKeyspaceIfExists("cassandra_connector_demo");
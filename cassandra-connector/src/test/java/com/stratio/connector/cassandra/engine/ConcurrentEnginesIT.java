@@ -0,0 +1,206 @@
+/*
+ * Licensed to STRATIO (C) under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  The STRATIO (C) licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.stratio.connector.cassandra.engine;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.log4j.Logger;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.stratio.connector.cassandra.BasicCoreCassandra;
+import com.stratio.connector.cassandra.CassandraConnector;
+import com.stratio.crossdata.common.connector.ConnectorClusterConfig;
+import com.stratio.crossdata.common.connector.IMetadataEngine;
+import com.stratio.crossdata.common.connector.IQueryEngine;
+import com.stratio.crossdata.common.data.ClusterName;
+import com.stratio.crossdata.common.data.ColumnName;
+import com.stratio.crossdata.common.data.TableName;
+import com.stratio.crossdata.common.logicalplan.LogicalStep;
+import com.stratio.crossdata.common.logicalplan.LogicalWorkflow;
+import com.stratio.crossdata.common.logicalplan.Project;
+import com.stratio.crossdata.common.logicalplan.Select;
+import com.stratio.crossdata.common.metadata.ColumnType;
+import com.stratio.crossdata.common.metadata.DataType;
+import com.stratio.crossdata.common.metadata.Operations;
+import com.stratio.crossdata.common.statements.structures.ColumnSelector;
+import com.stratio.crossdata.common.statements.structures.Selector;
+
+/**
+ * Stress test of the engines of a connector shared by several connector actors: each actor runs selects and metadata
+ * requests in a loop while another cluster is connected and closed through the same connector. The throughput is
+ * measured from one actor up to one actor per core.
+ */
+public class ConcurrentEnginesIT extends BasicCoreCassandra {
+
+    private static final Logger LOG = Logger.getLogger(ConcurrentEnginesIT.class);
+
+    private static final ClusterName CLUSTER = new ClusterName("cluster");
+
+    private static final ClusterName OTHER = new ClusterName("other");
+
+    private static final TableName USERS = new TableName("cassandra_connector_demo", "users");
+
+    private static final long DURATION = TimeUnit.SECONDS.toMillis(3);
+
+    private CassandraConnector connector;
+
+    @BeforeClass
+    public void setUp() throws Exception {
+        BasicCoreCassandra.loadTestData("cassandra_connector_demo", "demoKeyspace.cql");
+        connector = new CassandraConnector();
+        connector.connect(null, getConfig(CLUSTER));
+    }
+
+    @AfterClass
+    public void tearDown() throws Exception {
+        connector.shutdown();
+    }
+
+    private ConnectorClusterConfig getConfig(ClusterName clusterName) {
+        Map<String, String> clusterOptions = new HashMap<>();
+        clusterOptions.put("Hosts", "[127.0.0.1]");
+        clusterOptions.put("Port", "9042");
+        Map<String, String> connectorOptions = new HashMap<>();
+        connectorOptions.put("DefaultLimit", "100");
+        return new ConnectorClusterConfig(clusterName, connectorOptions, clusterOptions);
+    }
+
+    private LogicalWorkflow selectNames() {
+        Set<Operations> projectOperations = new HashSet<>();
+        projectOperations.add(Operations.PROJECT);
+        List<ColumnName> columns = new ArrayList<>();
+        columns.add(new ColumnName(USERS, "name"));
+        Project project = new Project(projectOperations, USERS, CLUSTER, columns);
+
+        Set<Operations> selectOperations = new HashSet<>();
+        selectOperations.add(Operations.SELECT_OPERATOR);
+        Selector name = new ColumnSelector(new ColumnName("cassandra_connector_demo", "users", "name"));
+        Map<Selector, String> aliasColumns = new LinkedHashMap<>();
+        aliasColumns.put(name, "name");
+        Map<String, ColumnType> typeMap = new HashMap<>();
+        typeMap.put("cassandra_connector_demo.users.name", new ColumnType(DataType.VARCHAR));
+        Map<Selector, ColumnType> typeMapFromColumnName = new HashMap<>();
+        typeMapFromColumnName.put(name, new ColumnType(DataType.VARCHAR));
+        project.setNextStep(new Select(selectOperations, aliasColumns, typeMap, typeMapFromColumnName));
+
+        List<LogicalStep> logicalSteps = new ArrayList<>();
+        logicalSteps.add(project);
+        return new LogicalWorkflow(logicalSteps);
+    }
+
+    private double measure(int actors) throws Exception {
+        final IQueryEngine queryEngine = connector.getQueryEngine();
+        final IMetadataEngine metadataEngine = connector.getMetadataEngine();
+        final LogicalWorkflow workflow = selectNames();
+        final AtomicLong requests = new AtomicLong();
+        final AtomicLong reconnections = new AtomicLong();
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        final CountDownLatch start = new CountDownLatch(1);
+        final long[] deadline = new long[1];
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < actors; i++) {
+            threads.add(new Thread("actor-" + i) {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        while (System.currentTimeMillis() < deadline[0]) {
+                            assertTrue(queryEngine.execute("stress", workflow).getResultSet().size() > 0);
+                            assertEquals(metadataEngine.provideTableMetadata(CLUSTER, USERS).getName(), USERS);
+                            requests.addAndGet(2);
+                        }
+                    } catch (Throwable t) {
+                        error.compareAndSet(null, t);
+                    }
+                }
+            });
+        }
+        threads.add(new Thread("registry") {
+            @Override
+            public void run() {
+                try {
+                    start.await();
+                    while (System.currentTimeMillis() < deadline[0]) {
+                        connector.connect(null, getConfig(OTHER));
+                        assertTrue(connector.isConnected(OTHER));
+                        connector.close(OTHER);
+                        assertFalse(connector.isConnected(OTHER));
+                        reconnections.incrementAndGet();
+                    }
+                } catch (Throwable t) {
+                    error.compareAndSet(null, t);
+                }
+            }
+        });
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        deadline[0] = System.currentTimeMillis() + DURATION;
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (error.get() != null) {
+            throw new AssertionError("Actor failed: " + error.get(), error.get());
+        }
+        assertTrue(reconnections.get() > 0, "The other cluster was never connected and closed");
+        assertTrue(connector.isConnected(CLUSTER));
+        return requests.get() * 1000.0 / DURATION;
+    }
+
+    @Test
+    public void throughputScalesWithActors() throws Exception {
+        measure(1);
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        double single = measure(1);
+        assertTrue(single > 0, "No request completed");
+        LOG.info("1 actor: " + Math.round(single) + " requests/s");
+        double throughput = single;
+        for (int actors = 2; actors < cores * 2; actors *= 2) {
+            int measured = Math.min(actors, cores);
+            throughput = measure(measured);
+            LOG.info(measured + " actors: " + Math.round(throughput) + " requests/s ("
+                    + String.format("%.2f", throughput / single) + "x)");
+        }
+        if (cores > 1) {
+            assertTrue(throughput > single * 1.5, "The throughput does not scale with " + cores + " actors: "
+                    + Math.round(single) + " -> " + Math.round(throughput) + " requests/s");
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to STRATIO (C) under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  The STRATIO (C) licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.stratio.connector.cassandra.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.datastax.driver.core.DataType;
+
+/**
+ * Offline test of the conversion of the validators of the system tables into driver types: it does not need any
+ * Cassandra cluster.
+ */
+public class CassandraTypesIT {
+
+    private static final String MARSHAL = "org.apache.cassandra.db.marshal.";
+
+    @Test
+    public void fromPrimitiveValidators() {
+        Assert.assertEquals(CassandraTypes.fromValidator(MARSHAL + "UTF8Type"), DataType.text());
+        Assert.assertEquals(CassandraTypes.fromValidator(MARSHAL + "AsciiType"), DataType.ascii());
+        Assert.assertEquals(CassandraTypes.fromValidator(MARSHAL + "Int32Type"), DataType.cint());
+        Assert.assertEquals(CassandraTypes.fromValidator(MARSHAL + "LongType"), DataType.bigint());
+        Assert.assertEquals(CassandraTypes.fromValidator(MARSHAL + "IntegerType"), DataType.varint());
+        Assert.assertEquals(CassandraTypes.fromValidator(MARSHAL + "CounterColumnType"), DataType.counter());
+        Assert.assertEquals(CassandraTypes.fromValidator(MARSHAL + "BooleanType"), DataType.cboolean());
+        Assert.assertEquals(CassandraTypes.fromValidator(MARSHAL + "DoubleType"), DataType.cdouble());
+        Assert.assertEquals(CassandraTypes.fromValidator(MARSHAL + "FloatType"), DataType.cfloat());
+        Assert.assertEquals(CassandraTypes.fromValidator(MARSHAL + "DecimalType"), DataType.decimal());
+        Assert.assertEquals(CassandraTypes.fromValidator(MARSHAL + "BytesType"), DataType.blob());
+        Assert.assertEquals(CassandraTypes.fromValidator(MARSHAL + "InetAddressType"), DataType.inet());
+        Assert.assertEquals(CassandraTypes.fromValidator(MARSHAL + "UUIDType"), DataType.uuid());
+        Assert.assertEquals(CassandraTypes.fromValidator(MARSHAL + "TimeUUIDType"), DataType.timeuuid());
+        Assert.assertEquals(CassandraTypes.fromValidator(MARSHAL + "TimestampType"), DataType.timestamp());
+        Assert.assertEquals(CassandraTypes.fromValidator(MARSHAL + "DateType"), DataType.timestamp());
+    }
+
+    @Test
+    public void fromUnqualifiedValidator() {
+        Assert.assertEquals(CassandraTypes.fromValidator(" UTF8Type "), DataType.text());
+    }
+
+    @Test
+    public void fromCollectionValidators() {
+        Assert.assertEquals(CassandraTypes.fromValidator(MARSHAL + "ListType(" + MARSHAL + "UTF8Type)"),
+                DataType.list(DataType.text()));
+        Assert.assertEquals(CassandraTypes.fromValidator(MARSHAL + "SetType(" + MARSHAL + "UUIDType)"),
+                DataType.set(DataType.uuid()));
+        Assert.assertEquals(CassandraTypes.fromValidator(MARSHAL + "MapType(" + MARSHAL + "UTF8Type," + MARSHAL
+                + "Int32Type)"), DataType.map(DataType.text(), DataType.cint()));
+    }
+
+    @Test
+    public void fromWrappedValidators() {
+        Assert.assertEquals(CassandraTypes.fromValidator(MARSHAL + "ReversedType(" + MARSHAL + "TimestampType)"),
+                DataType.timestamp(), "The clustering order must not change the type");
+        Assert.assertEquals(CassandraTypes.fromValidator(MARSHAL + "FrozenType(" + MARSHAL + "ListType(" + MARSHAL
+                + "Int32Type))"), DataType.list(DataType.cint()), "A frozen collection must be a collection");
+    }
+
+    @Test
+    public void fromNestedValidators() {
+        String validator = MARSHAL + "MapType(" + MARSHAL + "UTF8Type," + MARSHAL + "FrozenType(" + MARSHAL
+                + "MapType(" + MARSHAL + "Int32Type," + MARSHAL + "LongType)))";
+        Assert.assertEquals(CassandraTypes.fromValidator(validator),
+                DataType.map(DataType.text(), DataType.map(DataType.cint(), DataType.bigint())),
+                "The parameters must be split at the top level only");
+    }
+
+    @Test
+    public void fromCustomValidator() {
+        String validator = "com.example.marshal.PointType";
+        DataType type = CassandraTypes.fromValidator(validator);
+        Assert.assertEquals(type.getName(), DataType.Name.CUSTOM);
+        Assert.assertEquals(type.getCustomTypeClassName(), validator);
+    }
+}
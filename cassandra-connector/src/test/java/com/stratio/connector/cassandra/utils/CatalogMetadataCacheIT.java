@@ -0,0 +1,101 @@
+/*
+ * Licensed to STRATIO (C) under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  The STRATIO (C) licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.stratio.connector.cassandra.utils;
+
+import java.util.HashMap;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.stratio.crossdata.common.data.CatalogName;
+import com.stratio.crossdata.common.data.TableName;
+import com.stratio.crossdata.common.metadata.CatalogMetadata;
+import com.stratio.crossdata.common.metadata.TableMetadata;
+import com.stratio.crossdata.common.statements.structures.Selector;
+
+/**
+ * Offline test of the versions of the catalogs cached for the incremental metadata import: it does not need any
+ * Cassandra cluster.
+ */
+public class CatalogMetadataCacheIT {
+
+    private CatalogMetadata catalog(String name) {
+        return new CatalogMetadata(new CatalogName(name), new HashMap<Selector, Selector>(),
+                new HashMap<TableName, TableMetadata>());
+    }
+
+    @Test
+    public void cachedCatalogIsReused() {
+        CatalogMetadataCache cache = new CatalogMetadataCache();
+        long version = cache.getVersion("demo");
+        Assert.assertEquals(version, 0);
+        Assert.assertNull(cache.get("demo", version), "Nothing must be cached at first");
+
+        CatalogMetadata demo = catalog("demo");
+        cache.put("demo", version, demo);
+        Assert.assertSame(cache.get("demo", version), demo);
+        Assert.assertSame(cache.get("demo", cache.getVersion("demo")), demo);
+    }
+
+    @Test
+    public void changeDiscardsTheCatalog() {
+        CatalogMetadataCache cache = new CatalogMetadataCache();
+        long version = cache.getVersion("demo");
+        cache.put("demo", version, catalog("demo"));
+
+        cache.changed("demo");
+        Assert.assertEquals(cache.getVersion("demo"), version + 1, "A change must increase the version");
+        Assert.assertNull(cache.get("demo", version), "The catalog of the old version must be discarded");
+        Assert.assertNull(cache.get("demo", cache.getVersion("demo")));
+    }
+
+    @Test
+    public void catalogConvertedDuringAChangeIsNotCached() {
+        CatalogMetadataCache cache = new CatalogMetadataCache();
+        long version = cache.getVersion("demo");
+        //The keyspace changes while it is converted
+        cache.changed("demo");
+        cache.put("demo", version, catalog("demo"));
+
+        Assert.assertNull(cache.get("demo", version), "A catalog of an old version must not be cached");
+        Assert.assertNull(cache.get("demo", cache.getVersion("demo")));
+
+        long current = cache.getVersion("demo");
+        CatalogMetadata demo = catalog("demo");
+        cache.put("demo", current, demo);
+        Assert.assertSame(cache.get("demo", current), demo, "The catalog of the current version must be cached");
+    }
+
+    @Test
+    public void keyspacesAreVersionedApart() {
+        CatalogMetadataCache cache = new CatalogMetadataCache();
+        CatalogMetadata demo = catalog("demo");
+        CatalogMetadata other = catalog("other");
+        cache.put("demo", cache.getVersion("demo"), demo);
+        cache.put("other", cache.getVersion("other"), other);
+
+        cache.changed("other");
+        cache.changed("other");
+        Assert.assertEquals(cache.getVersion("other"), 2);
+        Assert.assertEquals(cache.getVersion("demo"), 0, "A change of another keyspace must not change the version");
+        Assert.assertSame(cache.get("demo", 0), demo, "The catalog of an unchanged keyspace must be kept");
+        Assert.assertNull(cache.get("other", 0));
+    }
+}
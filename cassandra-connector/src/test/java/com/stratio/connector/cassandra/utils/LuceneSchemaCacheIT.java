@@ -0,0 +1,88 @@
+/*
+ * Licensed to STRATIO (C) under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  The STRATIO (C) licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.stratio.connector.cassandra.utils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Offline test of the parsing of the schemas of the Lucene indexes: it does not need any Cassandra cluster.
+ */
+public class LuceneSchemaCacheIT {
+
+    private static final String DEMO_OPTIONS = "{\"class_name\":\"com.stratio.cassandra.lucene.Index\","
+            + "\"refresh_seconds\":\"1\",\"schema\":\"{default_analyzer:\\\"org.apache.lucene.analysis.standard"
+            + ".StandardAnalyzer\\\",fields:{name:{type:\\\"string\\\"}, age:{type:\\\"integer\\\"}, "
+            + "phrase:{type:\\\"text\\\", analyzer:\\\"org.apache.lucene.analysis.en.EnglishAnalyzer\\\"}}}\"}";
+
+    @Test
+    public void parseUnquotedSchema() throws IOException {
+        Map<String, String> fields = LuceneSchemaCache.parseFields(DEMO_OPTIONS);
+
+        Assert.assertEquals(new ArrayList<>(fields.keySet()), Arrays.asList("name", "age", "phrase"),
+                "The fields in the order of the schema expected");
+        Assert.assertEquals(fields.get("name"), "string");
+        Assert.assertEquals(fields.get("age"), "integer");
+        Assert.assertEquals(fields.get("phrase"), "text");
+    }
+
+    @Test
+    public void parseQuotedSchema() throws IOException {
+        Map<String, String> fields = LuceneSchemaCache.parseFields(
+                "{'schema':'{\"fields\":{\"email\":{\"type\":\"string\"}}}'}");
+
+        Assert.assertEquals(fields.size(), 1);
+        Assert.assertEquals(fields.get("email"), "string");
+    }
+
+    @Test
+    public void parseFieldWithoutType() throws IOException {
+        Map<String, String> fields = LuceneSchemaCache.parseFields(
+                "{\"schema\":\"{fields:{name:{type:'string'}, other:{analyzer:'english'}}}\"}");
+
+        Assert.assertEquals(fields.size(), 1, "A field without type must be ignored");
+        Assert.assertEquals(fields.get("name"), "string");
+    }
+
+    @Test
+    public void parseOptionsWithoutSchema() throws IOException {
+        Assert.assertTrue(LuceneSchemaCache.parseFields("{\"refresh_seconds\":\"1\"}").isEmpty());
+    }
+
+    @Test
+    public void parseSchemaWithoutFields() throws IOException {
+        Assert.assertTrue(LuceneSchemaCache.parseFields("{\"schema\":\"{default_analyzer:'english'}\"}").isEmpty());
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void parseInvalidOptions() throws IOException {
+        LuceneSchemaCache.parseFields("refresh_seconds=1");
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void parseInvalidSchema() throws IOException {
+        LuceneSchemaCache.parseFields("{\"schema\":\"{fields:{name:{type:\"}\"}");
+    }
+}
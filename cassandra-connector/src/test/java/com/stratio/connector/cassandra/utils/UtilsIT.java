@@ -0,0 +1,188 @@
+/*
+ * Licensed to STRATIO (C) under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  The STRATIO (C) licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.stratio.connector.cassandra.utils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.datastax.driver.core.DataType;
+
+/**
+ * Offline test of the conversion of the Crossdata values into the values bound to the prepared statements: it does
+ * not need any Cassandra cluster.
+ */
+public class UtilsIT {
+
+    @Test
+    public void toBindValueNull() {
+        Assert.assertNull(Utils.toBindValue(null, DataType.cint()));
+    }
+
+    @Test
+    public void toBindValueText() {
+        Assert.assertEquals(Utils.toBindValue("name", DataType.text()), "name");
+        Assert.assertEquals(Utils.toBindValue(25, DataType.varchar()), "25");
+        Assert.assertEquals(Utils.toBindValue("name", DataType.ascii()), "name");
+    }
+
+    @Test
+    public void toBindValueIntegers() {
+        Assert.assertEquals(Utils.toBindValue(25L, DataType.cint()), 25);
+        Assert.assertEquals(Utils.toBindValue(" 25 ", DataType.cint()), 25);
+        Assert.assertEquals(Utils.toBindValue(25, DataType.bigint()), 25L);
+        Assert.assertEquals(Utils.toBindValue("25", DataType.counter()), 25L);
+        Assert.assertEquals(Utils.toBindValue(25, DataType.varint()), BigInteger.valueOf(25));
+        BigInteger huge = BigInteger.valueOf(Long.MAX_VALUE).multiply(BigInteger.TEN);
+        Assert.assertEquals(Utils.toBindValue(huge, DataType.varint()), huge);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void toBindValueIntOutOfRange() {
+        Utils.toBindValue(Integer.MAX_VALUE + 1L, DataType.cint());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void toBindValueBigintOutOfRange() {
+        Utils.toBindValue(BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE), DataType.bigint());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void toBindValueFloatOutOfRange() {
+        Utils.toBindValue(1e39, DataType.cfloat());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void toBindValueFloatStringOutOfRange() {
+        Utils.toBindValue("-1e39", DataType.cfloat());
+    }
+
+    @Test
+    public void toBindValueFloats() {
+        Assert.assertEquals(Utils.toBindValue(2.5, DataType.cfloat()), 2.5f);
+        Assert.assertEquals(Utils.toBindValue(" 2.5 ", DataType.cfloat()), 2.5f);
+        Assert.assertEquals(Utils.toBindValue(Double.POSITIVE_INFINITY, DataType.cfloat()), Float.POSITIVE_INFINITY);
+        Assert.assertEquals(Utils.toBindValue("-Infinity", DataType.cfloat()), Float.NEGATIVE_INFINITY);
+        Assert.assertTrue(Float.isNaN((Float) Utils.toBindValue(Double.NaN, DataType.cfloat())));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void toBindValueNotAnInt() {
+        Utils.toBindValue("now()", DataType.cint());
+    }
+
+    @Test
+    public void toBindValueDecimals() {
+        Assert.assertEquals(Utils.toBindValue(2.5, DataType.cfloat()), 2.5f);
+        Assert.assertEquals(Utils.toBindValue("2.5", DataType.cdouble()), 2.5);
+        Assert.assertEquals(Utils.toBindValue(3, DataType.cdouble()), 3.0);
+        Assert.assertEquals(Utils.toBindValue("2.50", DataType.decimal()), new BigDecimal("2.50"));
+        BigDecimal decimal = new BigDecimal("1.25");
+        Assert.assertSame(Utils.toBindValue(decimal, DataType.decimal()), decimal);
+    }
+
+    @Test
+    public void toBindValueBoolean() {
+        Assert.assertEquals(Utils.toBindValue(true, DataType.cboolean()), true);
+        Assert.assertEquals(Utils.toBindValue("FALSE", DataType.cboolean()), false);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void toBindValueNotABoolean() {
+        Utils.toBindValue("yes", DataType.cboolean());
+    }
+
+    @Test
+    public void toBindValueIdentifiers() throws Exception {
+        UUID uuid = UUID.randomUUID();
+        Assert.assertEquals(Utils.toBindValue(uuid.toString(), DataType.uuid()), uuid);
+        Assert.assertSame(Utils.toBindValue(uuid, DataType.timeuuid()), uuid);
+        Assert.assertEquals(Utils.toBindValue("127.0.0.1", DataType.inet()), InetAddress.getByName("127.0.0.1"));
+    }
+
+    @Test
+    public void toBindValueTimestamp() {
+        Date date = new Date();
+        Assert.assertSame(Utils.toBindValue(date, DataType.timestamp()), date);
+        Assert.assertEquals(Utils.toBindValue(1000L, DataType.timestamp()), new Date(1000L));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void toBindValueTimestampString() {
+        Utils.toBindValue("2015-01-01", DataType.timestamp());
+    }
+
+    @Test
+    public void toBindValueBlob() {
+        ByteBuffer blob = ByteBuffer.wrap(new byte[] { 1, 2 });
+        Assert.assertSame(Utils.toBindValue(blob, DataType.blob()), blob);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void toBindValueBlobString() {
+        Utils.toBindValue("0x0102", DataType.blob());
+    }
+
+    @Test
+    public void toBindValueCollections() {
+        Assert.assertEquals(Utils.toBindValue(Arrays.asList("1", "2"), DataType.list(DataType.cint())),
+                Arrays.asList(1, 2));
+
+        Set<Object> set = new LinkedHashSet<>();
+        set.add(1);
+        set.add(2);
+        Assert.assertEquals(Utils.toBindValue(set, DataType.set(DataType.bigint())),
+                new LinkedHashSet<>(Arrays.asList(1L, 2L)));
+
+        Map<Object, Object> map = new HashMap<>();
+        map.put("a", "1");
+        Assert.assertEquals(Utils.toBindValue(map, DataType.map(DataType.text(), DataType.cint())),
+                Collections.singletonMap("a", 1));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void toBindValueNotAList() {
+        Utils.toBindValue("[1, 2]", DataType.list(DataType.cint()));
+    }
+
+    @Test
+    public void toBindValueNestedConversionFailure() {
+        List<Object> list = Arrays.<Object>asList("1", "two");
+        try {
+            Utils.toBindValue(list, DataType.list(DataType.cint()));
+            Assert.fail("A list with a value that is not an int must not be bound");
+        } catch (IllegalArgumentException e) {
+            Assert.assertTrue(e instanceof NumberFormatException);
+        }
+    }
+}